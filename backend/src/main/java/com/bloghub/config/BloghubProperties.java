@@ -2,15 +2,84 @@ package com.bloghub.config;
 
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
 @ConfigurationProperties(prefix = "bloghub")
 public record BloghubProperties(
         Api api,
-        Security security
+        Security security,
+        Cache cache,
+        RateLimit rateLimit,
+        Datasource datasource,
+        Comments comments
 ) {
     public record Api(String basePath) {}
 
-    public record Security(Jwt jwt) {
-        public record Jwt(String secret, long expirationMinutes) {}
+    public record Security(Jwt jwt, Refresh refresh, Revocation revocation, PasswordHashing passwordHashing) {
+        public record Jwt(String secret, long expirationMinutes, boolean stateless, Duration tokenVersionTtl) {}
+
+        public record Refresh(Duration ttl) {}
+
+        public record Revocation(
+                long expectedEntries,
+                double falsePositiveRate,
+                Duration syncInterval,
+                Duration purgeInterval
+        ) {}
+
+        public record PasswordHashing(int threads, int queueCapacity, Duration retryAfter) {}
+    }
+
+    public record Cache(Posts posts, Categories categories, Search search, Map<String, Region> regions) {
+        public record Posts(long maxSize, Duration ttl) {}
+
+        public record Categories(Duration maxAge) {}
+
+        public record Search(Duration syncInterval) {}
+
+        public record Region(long maxSize, Duration ttl) {}
+    }
+
+    public record Datasource(Replicas replicas) {
+        public record Replicas(
+                boolean enabled,
+                Balancing balancing,
+                int maximumPoolSize,
+                Duration connectionTimeout,
+                Duration retryAfter,
+                List<Node> nodes
+        ) {}
+
+        public record Node(String name, String url, String username, String password) {}
+
+        public enum Balancing { ROUND_ROBIN, LEAST_CONNECTIONS }
+    }
+
+    public record Comments(Ingestion ingestion, Stream stream) {
+        public record Ingestion(
+                boolean enabled,
+                int queueCapacity,
+                int maxBatchSize,
+                Duration maxDelay,
+                Duration awaitTimeout,
+                Duration retryAfter
+        ) {}
+
+        public record Stream(
+                int maxSubscribers,
+                int bufferSize,
+                int sendThreads,
+                Duration writeTimeout,
+                Duration heartbeatInterval,
+                Duration timeout,
+                Duration retryAfter
+        ) {}
+    }
+
+    public record RateLimit(boolean enabled, int tableSize, Duration evictionInterval, List<Rule> rules) {
+        public record Rule(String name, List<String> methods, String path, long capacity, Duration period) {}
     }
 }
 
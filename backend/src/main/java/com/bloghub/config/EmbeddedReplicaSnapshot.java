@@ -0,0 +1,76 @@
+package com.bloghub.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Gives the embedded H2 replicas of the {@code replicas} profile their own copy of the primary, taken once startup
+ * (schema and seed data) is done. Nothing is replicated afterwards, so a replica is a known-stale copy: a read-only
+ * request that reaches it does not see later writes, which makes the routing visible.
+ */
+@Component
+@Profile("replicas")
+public class EmbeddedReplicaSnapshot {
+    private static final Logger log = LoggerFactory.getLogger(EmbeddedReplicaSnapshot.class);
+
+    private final HikariDataSource primaryDataSource;
+    private final DataSourceProperties primaryProperties;
+    private final BloghubProperties props;
+
+    public EmbeddedReplicaSnapshot(
+            HikariDataSource primaryDataSource,
+            DataSourceProperties primaryProperties,
+            BloghubProperties props
+    ) {
+        this.primaryDataSource = primaryDataSource;
+        this.primaryProperties = primaryProperties;
+        this.props = props;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void copyPrimary() throws SQLException {
+        for (BloghubProperties.Datasource.Node node : props.datasource().replicas().nodes()) {
+            String username = StringUtils.hasText(node.username())
+                    ? node.username() : primaryProperties.determineUsername();
+            String password = node.password() != null ? node.password() : primaryProperties.determinePassword();
+            int statements = copy(primaryDataSource, node.url(), username, password);
+            log.info("Replica {} loaded from a snapshot of the primary ({} statements)", node.name(), statements);
+        }
+    }
+
+    /** Replaces everything in the H2 database at {@code url} with the primary's current schema and rows. */
+    public static int copy(DataSource primary, String url, String username, String password) throws SQLException {
+        List<String> script = new ArrayList<>();
+        try (Connection connection = primary.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet rows = statement.executeQuery("SCRIPT")) {
+            while (rows.next()) {
+                script.add(rows.getString(1));
+            }
+        }
+        try (Connection connection = DriverManager.getConnection(url, username, password);
+             Statement statement = connection.createStatement()) {
+            statement.execute("DROP ALL OBJECTS");
+            for (String sql : script) {
+                statement.execute(sql);
+            }
+        }
+        return script.size();
+    }
+}
@@ -0,0 +1,60 @@
+package com.bloghub.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.util.Map;
+import java.util.OptionalLong;
+
+/**
+ * Builds the JCache (Caffeine) manager behind Hibernate's second-level and query caches, with one bounded cache per
+ * region from {@code bloghub.cache.regions}. Entries are kept by reference; Hibernate already stores disassembled,
+ * immutable state, so JCache's default copy-on-read would only add serialization to every hit.
+ */
+@Configuration
+public class HibernateCacheConfig {
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(BloghubProperties props) {
+        CaffeineCachingProvider provider = (CaffeineCachingProvider) Caching.getCachingProvider(
+                CaffeineCachingProvider.class.getName());
+        CacheManager cacheManager = provider.getCacheManager(
+                provider.getDefaultURI(), HibernateCacheConfig.class.getClassLoader());
+
+        Map<String, BloghubProperties.Cache.Region> regions = props.cache().regions();
+        if (regions != null) {
+            regions.forEach((name, region) -> {
+                CaffeineConfiguration<Object, Object> config = byReference();
+                config.setMaximumSize(OptionalLong.of(region.maxSize()));
+                config.setExpireAfterWrite(OptionalLong.of(region.ttl().toNanos()));
+                cacheManager.createCache(name, config);
+            });
+        }
+        // Must never evict or expire, or cached query results could outlive the table writes that invalidate them.
+        if (cacheManager.getCache(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME) == null) {
+            cacheManager.createCache(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME, byReference());
+        }
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer hibernateCacheManagerCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> {
+            properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "create-warn");
+        };
+    }
+
+    private static CaffeineConfiguration<Object, Object> byReference() {
+        CaffeineConfiguration<Object, Object> config = new CaffeineConfiguration<>();
+        config.setStoreByValue(false);
+        config.setStatisticsEnabled(true);
+        return config;
+    }
+}
@@ -0,0 +1,82 @@
+package com.bloghub.config;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Sends read-only transactions to replicas when {@code bloghub.datasource.replicas.enabled} is set.
+ *
+ * <p>The application {@code DataSource} becomes a {@link LazyConnectionDataSourceProxy}: it doesn't fetch a physical
+ * connection until the first statement, by which time a {@code readOnly = true} transaction has marked the connection
+ * read-only, and then takes it from the {@link ReplicaRoutingDataSource} instead of the primary pool.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "bloghub.datasource.replicas", name = "enabled", havingValue = "true")
+public class ReplicaRoutingConfig {
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(
+            HikariDataSource primaryDataSource,
+            DataSourceProperties primaryProperties,
+            BloghubProperties props,
+            MeterRegistry meterRegistry
+    ) {
+        BloghubProperties.Datasource.Replicas config = props.datasource().replicas();
+        if (config.nodes() == null || config.nodes().isEmpty()) {
+            throw new IllegalStateException("bloghub.datasource.replicas.enabled is set but no nodes are configured");
+        }
+        List<HikariDataSource> pools = new ArrayList<>();
+        for (BloghubProperties.Datasource.Node node : config.nodes()) {
+            HikariConfig pool = new HikariConfig();
+            pool.setPoolName("replica-" + node.name());
+            pool.setJdbcUrl(node.url());
+            pool.setUsername(StringUtils.hasText(node.username()) ? node.username() : primaryProperties.determineUsername());
+            pool.setPassword(node.password() != null ? node.password() : primaryProperties.determinePassword());
+            pool.setMaximumPoolSize(config.maximumPoolSize());
+            pool.setConnectionTimeout(config.connectionTimeout().toMillis());
+            pool.setReadOnly(true);
+            // Start even when a replica is down; reads fall back to the primary until it comes back.
+            pool.setInitializationFailTimeout(-1);
+            pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            pools.add(new HikariDataSource(pool));
+        }
+        return new ReplicaRoutingDataSource(
+                primaryDataSource,
+                pools,
+                config.balancing(),
+                config.retryAfter(),
+                meterRegistry
+        );
+    }
+
+    @Bean
+    @Primary
+    public LazyConnectionDataSourceProxy dataSource(
+            HikariDataSource primaryDataSource,
+            ReplicaRoutingDataSource replicaRoutingDataSource
+    ) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primaryDataSource);
+        dataSource.setReadOnlyDataSource(replicaRoutingDataSource);
+        return dataSource;
+    }
+}
@@ -0,0 +1,122 @@
+package com.bloghub.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hands out connections from a set of replica pools, falling back to the primary when none of them can supply one.
+ *
+ * <p>Used as the read-only target of a {@code LazyConnectionDataSourceProxy}, so it only sees connections for
+ * read-only transactions. A replica whose pool fails to produce a connection is skipped for {@code retryAfter};
+ * after that the next request tries it again.
+ */
+public class ReplicaRoutingDataSource extends AbstractDataSource implements DisposableBean {
+    private static final Logger log = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final BloghubProperties.Datasource.Balancing balancing;
+    private final long retryAfterNanos;
+    private final Counter primaryFallbacks;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReplicaRoutingDataSource(
+            DataSource primary,
+            List<HikariDataSource> replicaPools,
+            BloghubProperties.Datasource.Balancing balancing,
+            Duration retryAfter,
+            MeterRegistry meterRegistry
+    ) {
+        this.primary = primary;
+        this.replicas = replicaPools.stream()
+                .map(pool -> new Replica(pool, Counter.builder("bloghub.datasource.reads")
+                        .tag("target", pool.getPoolName())
+                        .register(meterRegistry)))
+                .toList();
+        this.balancing = balancing;
+        this.retryAfterNanos = retryAfter.toNanos();
+        this.primaryFallbacks = Counter.builder("bloghub.datasource.reads")
+                .tag("target", "primary")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        int count = replicas.size();
+        int start = balancing == BloghubProperties.Datasource.Balancing.LEAST_CONNECTIONS
+                ? leastBusy()
+                : Math.floorMod(next.getAndIncrement(), count);
+        long now = System.nanoTime();
+        for (int i = 0; i < count; i++) {
+            Replica replica = replicas.get((start + i) % count);
+            if (replica.down && now - replica.downSince < retryAfterNanos) {
+                continue;
+            }
+            try {
+                Connection connection = replica.pool.getConnection();
+                replica.down = false;
+                replica.reads.increment();
+                return connection;
+            } catch (SQLException ex) {
+                replica.downSince = System.nanoTime();
+                replica.down = true;
+                log.warn("Replica {} unavailable for {} ms: {}",
+                        replica.pool.getPoolName(), retryAfterNanos / 1_000_000, ex.getMessage());
+            }
+        }
+        primaryFallbacks.increment();
+        return primary.getConnection();
+    }
+
+    // Replica pools are bound to their configured users, so explicit credentials go to the primary.
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        primaryFallbacks.increment();
+        return primary.getConnection(username, password);
+    }
+
+    @Override
+    public void destroy() {
+        replicas.forEach(replica -> replica.pool.close());
+    }
+
+    // Fewest active plus waiting connections; ties go to the earlier replica.
+    private int leastBusy() {
+        int best = 0;
+        int bestLoad = Integer.MAX_VALUE;
+        for (int i = 0; i < replicas.size(); i++) {
+            HikariPoolMXBean pool = replicas.get(i).pool.getHikariPoolMXBean();
+            int load = pool == null ? 0 : pool.getActiveConnections() + pool.getThreadsAwaitingConnection();
+            if (load < bestLoad) {
+                best = i;
+                bestLoad = load;
+            }
+        }
+        return best;
+    }
+
+    private static final class Replica {
+        private final HikariDataSource pool;
+        private final Counter reads;
+        private volatile boolean down;
+        private volatile long downSince;
+
+        Replica(HikariDataSource pool, Counter reads) {
+            this.pool = pool;
+            this.reads = reads;
+        }
+    }
+}
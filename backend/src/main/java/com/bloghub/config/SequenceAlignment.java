@@ -0,0 +1,75 @@
+package com.bloghub.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Moves the id sequences past rows inserted while the tables still used IDENTITY columns, so the pooled
+ * generator never hands out an id that already exists. Only ever moves a sequence forward, so it is safe to run
+ * on every start and alongside other instances. PostgreSQL uses real sequences; on MySQL Hibernate emulates them
+ * with single-row tables.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class SequenceAlignment implements CommandLineRunner {
+    // Must match allocationSize on the entities' @SequenceGenerator.
+    private static final int ALLOCATION_SIZE = 50;
+
+    private static final Logger log = LoggerFactory.getLogger(SequenceAlignment.class);
+    private static final List<String> TABLES = List.of("users", "categories", "posts", "comments");
+
+    private final JdbcTemplate jdbc;
+
+    public SequenceAlignment(JdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    @Override
+    public void run(String... args) {
+        String product = jdbc.execute((ConnectionCallback<String>) c -> c.getMetaData().getDatabaseProductName());
+        for (String table : TABLES) {
+            String sequence = table + "_seq";
+            try {
+                Long maxId = jdbc.queryForObject("select coalesce(max(id), 0) from " + table, Long.class);
+                if (maxId == null || maxId == 0) {
+                    continue;
+                }
+                if ("PostgreSQL".equals(product)) {
+                    // A sequence that was never called reports its start value with is_called = false, and the next
+                    // nextval() returns last_value itself rather than last_value + increment.
+                    long next = jdbc.queryForObject(
+                            "select case when is_called then last_value + ? else last_value end from " + sequence,
+                            Long.class,
+                            ALLOCATION_SIZE
+                    );
+                    // The pooled optimizer hands out next - ALLOCATION_SIZE + 1 .. next, which must lie above maxId.
+                    if (next < maxId + ALLOCATION_SIZE) {
+                        // Next nextval() returns maxId + ALLOCATION_SIZE, i.e. the block maxId+1 .. maxId+50.
+                        jdbc.queryForObject("select setval('" + sequence + "', ?)", Long.class, maxId);
+                        log.info("Aligned {} to {}", sequence, maxId);
+                    }
+                } else if ("MySQL".equals(product)) {
+                    int updated = jdbc.update(
+                            "update " + sequence + " set next_val = ? where next_val < ?",
+                            maxId + ALLOCATION_SIZE,
+                            maxId + ALLOCATION_SIZE
+                    );
+                    if (updated > 0) {
+                        log.info("Aligned {} to {}", sequence, maxId + ALLOCATION_SIZE);
+                    }
+                }
+            } catch (DataAccessException ex) {
+                log.warn("Could not align {} with {}: {}", sequence, table, ex.getMessage());
+            }
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.bloghub.domain;
 
+import com.bloghub.util.CommentPaths;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EntityListeners;
@@ -11,7 +12,11 @@ import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.Lob;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -23,14 +28,17 @@ import java.time.Instant;
 @Table(
         name = "comments",
         indexes = {
-                @Index(name = "ix_comments_post_id", columnList = "post_id"),
+                // Serves the top-level listing (post_id = ? and parent_id is null order by created_at, id) and any
+                // lookup by post_id alone.
+                @Index(name = "ix_comments_post_parent_created_id", columnList = "post_id, parent_id, created_at, id"),
                 @Index(name = "ix_comments_author_id", columnList = "author_id"),
-                @Index(name = "ix_comments_created_at", columnList = "created_at")
+                @Index(name = "ix_comments_root_path", columnList = "root_id, path")
         }
 )
 public class Comment {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "comments_seq")
+    @SequenceGenerator(name = "comments_seq", sequenceName = "comments_seq", allocationSize = 50)
     private Long id;
 
     @Lob
@@ -45,6 +53,28 @@ public class Comment {
     @JoinColumn(name = "author_id", nullable = false)
     private User author;
 
+    // Deleting a comment removes its replies in the database, whatever order rows are visited in.
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "parent_id")
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Comment parent;
+
+    // Null for top-level comments; replies carry the id of the top-level comment and a path (see CommentPaths).
+    @Column(name = "root_id")
+    private Long rootId;
+
+    @Column(length = CommentPaths.MAX_LENGTH)
+    private String path;
+
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private int depth;
+
+    // Direct replies only.
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private long childCount;
+
     @CreatedDate
     @Column(nullable = false, updatable = false)
     private Instant createdAt;
@@ -81,6 +111,38 @@ public class Comment {
         this.author = author;
     }
 
+    public Comment getParent() {
+        return parent;
+    }
+
+    /** Makes this comment a reply to {@code parent}. The path ends with this comment's id, so it must be assigned. */
+    public void placeUnder(Comment parent) {
+        this.parent = parent;
+        this.rootId = parent.rootId != null ? parent.rootId : parent.id;
+        this.depth = parent.depth + 1;
+        this.path = CommentPaths.child(parent.path, id);
+    }
+
+    public Long getRootId() {
+        return rootId;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public int getDepth() {
+        return depth;
+    }
+
+    public long getChildCount() {
+        return childCount;
+    }
+
+    public void setChildCount(long childCount) {
+        this.childCount = childCount;
+    }
+
     public Instant getCreatedAt() {
         return createdAt;
     }
@@ -12,7 +12,9 @@ import jakarta.persistence.JoinColumn;
 import jakarta.persistence.Lob;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import org.hibernate.annotations.ColumnDefault;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -26,15 +28,17 @@ import java.util.List;
 @Table(
         name = "posts",
         indexes = {
-                @Index(name = "ix_posts_category_id", columnList = "category_id"),
+                @Index(name = "ix_posts_category_created_id", columnList = "category_id, created_at, id"),
                 @Index(name = "ix_posts_author_id", columnList = "author_id"),
-                @Index(name = "ix_posts_created_at", columnList = "created_at"),
+                @Index(name = "ix_posts_created_id", columnList = "created_at, id"),
+                @Index(name = "ix_posts_updated_id", columnList = "updated_at, id"),
                 @Index(name = "ix_posts_title", columnList = "title")
         }
 )
 public class Post {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "posts_seq")
+    @SequenceGenerator(name = "posts_seq", sequenceName = "posts_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, length = 200)
@@ -44,6 +48,9 @@ public class Post {
     @Column(nullable = false)
     private String content;
 
+    @Column(length = 300)
+    private String excerpt;
+
     @Column(length = 500)
     private String imageUrl;
 
@@ -55,6 +62,12 @@ public class Post {
     @JoinColumn(name = "author_id", nullable = false)
     private User author;
 
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private long commentsCount;
+
+    private Instant commentsChangedAt;
+
     @CreatedDate
     @Column(nullable = false, updatable = false)
     private Instant createdAt;
@@ -86,6 +99,14 @@ public class Post {
         this.content = content;
     }
 
+    public String getExcerpt() {
+        return excerpt;
+    }
+
+    public void setExcerpt(String excerpt) {
+        this.excerpt = excerpt;
+    }
+
     public String getImageUrl() {
         return imageUrl;
     }
@@ -110,6 +131,18 @@ public class Post {
         this.author = author;
     }
 
+    public long getCommentsCount() {
+        return commentsCount;
+    }
+
+    public void setCommentsCount(long commentsCount) {
+        this.commentsCount = commentsCount;
+    }
+
+    public Instant getCommentsChangedAt() {
+        return commentsChangedAt;
+    }
+
     public Instant getCreatedAt() {
         return createdAt;
     }
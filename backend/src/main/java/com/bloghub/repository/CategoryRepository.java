@@ -10,4 +10,3 @@ public interface CategoryRepository extends JpaRepository<Category, Long> {
     boolean existsByNameIgnoreCase(String name);
     boolean existsBySlugIgnoreCase(String slug);
 }
-
@@ -1,13 +1,93 @@
 package com.bloghub.repository;
 
 import com.bloghub.domain.Comment;
-import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 
 public interface CommentRepository extends JpaRepository<Comment, Long> {
-    List<Comment> findByPostId(Long postId, Sort sort);
-    long countByPostId(Long postId);
-}
+    @Query("""
+            select c from Comment c
+            join fetch c.author
+            where c.post.id = :postId and c.parent is null
+            order by c.createdAt, c.id
+            """)
+    List<Comment> findPageByPost(@Param("postId") Long postId, Limit limit);
+
+    @Query("""
+            select c from Comment c
+            join fetch c.author
+            where c.post.id = :postId and c.parent is null
+              and (c.createdAt > :createdAt or (c.createdAt = :createdAt and c.id > :id))
+            order by c.createdAt, c.id
+            """)
+    List<Comment> findPageByPostAfter(
+            @Param("postId") Long postId,
+            @Param("createdAt") Instant createdAt,
+            @Param("id") Long id,
+            Limit limit
+    );
+
+    // Replies below a comment in display order: the path range (after, end) within one thread; end is null for a
+    // whole thread.
+    @Query("""
+            select c from Comment c
+            join fetch c.author
+            where c.rootId = :rootId and c.path > :after and (:end is null or c.path < :end)
+            order by c.path
+            """)
+    List<Comment> findSubtreePage(
+            @Param("rootId") Long rootId,
+            @Param("after") String after,
+            @Param("end") String end,
+            Limit limit
+    );
+
+    @Query("""
+            select count(c) from Comment c
+            where c.rootId = :rootId and c.path > :after and (:end is null or c.path < :end)
+            """)
+    long countSubtree(@Param("rootId") Long rootId, @Param("after") String after, @Param("end") String end);
+
+    @Modifying
+    @Query("update Comment c set c.childCount = c.childCount + :delta where c.id = :id")
+    int adjustChildCount(@Param("id") Long id, @Param("delta") long delta);
 
+    @Query("""
+            select c.post.id as postId, count(c) as total
+            from Comment c
+            where c.post.id in :postIds
+            group by c.post.id
+            """)
+    List<PostCommentCount> countByPostIds(@Param("postIds") Collection<Long> postIds);
+
+    @Query("""
+            select c.post.id as postId, c.id as id, c.parent.id as parentId, c.content as content,
+                   a.email as authorEmail, c.createdAt as createdAt
+            from Comment c
+            join c.author a
+            where c.post.id in :postIds
+            order by c.post.id, c.createdAt, c.id
+            """)
+    List<ArchiveRow> findArchiveRowsByPostIdIn(@Param("postIds") Collection<Long> postIds);
+
+    interface ArchiveRow {
+        Long getPostId();
+        Long getId();
+        Long getParentId();
+        String getContent();
+        String getAuthorEmail();
+        Instant getCreatedAt();
+    }
+
+    interface PostCommentCount {
+        Long getPostId();
+        long getTotal();
+    }
+}
@@ -1,24 +1,242 @@
 package com.bloghub.repository;
 
 import com.bloghub.domain.Post;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
 public interface PostRepository extends JpaRepository<Post, Long> {
+    /**
+     * Title/content keyword filter shared by the listing queries; binds {@code :keyword}. {@code content} is a
+     * {@code @Lob}, and Hibernate rejects {@code lower()} on a CLOB when it validates the query, so it is cast first.
+     */
+    String KEYWORD_FILTER = """
+            (:keyword is null
+              or lower(p.title) like lower(concat('%', :keyword, '%'))
+              or lower(cast(p.content as String)) like lower(concat('%', :keyword, '%')))
+            """;
+
     Page<Post> findByCategoryId(Long categoryId, Pageable pageable);
 
+    @Query(
+            value = """
+                    select p from Post p
+                    join fetch p.author
+                    join fetch p.category
+                    where (:categoryId is null or p.category.id = :categoryId)
+                      and """ + KEYWORD_FILTER,
+            countQuery = """
+                    select count(p) from Post p
+                    where (:categoryId is null or p.category.id = :categoryId)
+                      and """ + KEYWORD_FILTER
+    )
+    Page<Post> searchListing(@Param("categoryId") Long categoryId, @Param("keyword") String keyword, Pageable pageable);
+
     @Query("""
             select p from Post p
+            join fetch p.author
+            join fetch p.category
             where (:categoryId is null or p.category.id = :categoryId)
-              and (
-                :keyword is null
-                or lower(p.title) like lower(concat('%', :keyword, '%'))
-                or lower(p.content) like lower(concat('%', :keyword, '%'))
-              )
+              and """ + KEYWORD_FILTER + """
+            order by p.createdAt desc, p.id desc
             """)
-    Page<Post> search(@Param("categoryId") Long categoryId, @Param("keyword") String keyword, Pageable pageable);
-}
+    List<Post> findFeedFirstPage(@Param("categoryId") Long categoryId, @Param("keyword") String keyword, Limit limit);
+
+    @Query("""
+            select p from Post p
+            join fetch p.author
+            join fetch p.category
+            where (:categoryId is null or p.category.id = :categoryId)
+              and """ + KEYWORD_FILTER + """
+              and (p.createdAt < :createdAt or (p.createdAt = :createdAt and p.id < :id))
+            order by p.createdAt desc, p.id desc
+            """)
+    List<Post> findFeedPageAfter(
+            @Param("categoryId") Long categoryId,
+            @Param("keyword") String keyword,
+            @Param("createdAt") Instant createdAt,
+            @Param("id") Long id,
+            Limit limit
+    );
+
+    @Query("select p from Post p join fetch p.author join fetch p.category where p.id = :id")
+    Optional<Post> findListingById(@Param("id") Long id);
+
+    @Query("select p from Post p join fetch p.author join fetch p.category where p.id in :ids")
+    List<Post> findListingByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query(
+            value = """
+                    select p.id as id, p.title as title, p.excerpt as excerpt, p.imageUrl as imageUrl,
+                           c.id as categoryId, c.name as categoryName, a.id as authorId, a.displayName as authorName,
+                           p.commentsCount as commentsCount, p.createdAt as createdAt, p.updatedAt as updatedAt
+                    from Post p
+                    join p.category c
+                    join p.author a
+                    where (:categoryId is null or c.id = :categoryId)
+                      and """ + KEYWORD_FILTER,
+            countQuery = """
+                    select count(p) from Post p
+                    where (:categoryId is null or p.category.id = :categoryId)
+                      and """ + KEYWORD_FILTER
+    )
+    Page<PostSummaryView> searchSummaries(@Param("categoryId") Long categoryId, @Param("keyword") String keyword, Pageable pageable);
+
+    @Query("""
+            select p.id as id, p.title as title, p.excerpt as excerpt, p.imageUrl as imageUrl,
+                   c.id as categoryId, c.name as categoryName, a.id as authorId, a.displayName as authorName,
+                   p.commentsCount as commentsCount, p.createdAt as createdAt, p.updatedAt as updatedAt
+            from Post p
+            join p.category c
+            join p.author a
+            where p.id in :ids
+            """)
+    List<PostSummaryView> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("select p.id as id, p.content as content from Post p where p.excerpt is null order by p.id")
+    List<ContentRow> findMissingExcerpt(Limit limit);
+
+    @Modifying
+    @Query("update Post p set p.excerpt = :excerpt where p.id = :id")
+    int updateExcerpt(@Param("id") Long id, @Param("excerpt") String excerpt);
+
+    @Query("""
+            select p.id as id, p.category.id as categoryId, p.title as title, p.content as content, p.updatedAt as updatedAt
+            from Post p
+            where p.id > :afterId
+            order by p.id
+            """)
+    List<IndexRow> findIndexRowsAfter(@Param("afterId") Long afterId, Limit limit);
+
+    // Keyset over (updatedAt, id), so rows sharing one timestamp are not skipped between batches.
+    @Query("""
+            select p.id as id, p.category.id as categoryId, p.title as title, p.content as content, p.updatedAt as updatedAt
+            from Post p
+            where p.updatedAt > :since or (p.updatedAt = :since and p.id > :afterId)
+            order by p.updatedAt, p.id
+            """)
+    List<IndexRow> findIndexRowsChangedAfter(
+            @Param("since") Instant since,
+            @Param("afterId") Long afterId,
+            Limit limit
+    );
+
+    @Modifying
+    @Query("""
+            update Post p
+            set p.commentsCount = p.commentsCount + :delta, p.commentsChangedAt = :changedAt
+            where p.id = :id
+            """)
+    int adjustCommentsCount(@Param("id") Long id, @Param("delta") long delta, @Param("changedAt") Instant changedAt);
+
+    @Query("""
+            select p.id as id, p.createdAt as createdAt, p.updatedAt as updatedAt,
+                   p.commentsCount as commentsCount, p.commentsChangedAt as commentsChangedAt,
+                   c.updatedAt as categoryUpdatedAt, a.updatedAt as authorUpdatedAt
+            from Post p join p.category c join p.author a
+            where p.id = :id
+            """)
+    Optional<VersionRow> findVersionById(@Param("id") Long id);
+
+    @Query("select p.id from Post p where p.id in :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    @Query("select p.id as id, p.commentsCount as commentsCount from Post p where p.id in :ids")
+    List<CommentsCounter> findCommentsCountersByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("select p.id as id, p.commentsCount as commentsCount from Post p where p.id > :afterId order by p.id")
+    List<CommentsCounter> findCommentsCountersAfter(@Param("afterId") Long afterId, Limit limit);
+
+    @Modifying
+    @Query("""
+            update Post p set p.commentsCount = :actual, p.commentsChangedAt = :changedAt
+            where p.id = :id and p.commentsCount = :expected
+            """)
+    int repairCommentsCount(
+            @Param("id") Long id,
+            @Param("expected") long expected,
+            @Param("actual") long actual,
+            @Param("changedAt") Instant changedAt
+    );
+
+    // Forward-only cursor; must be consumed and closed inside a transaction. MySQL needs useCursorFetch=true to honour the fetch size.
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("""
+            select p.id as id, p.title as title, p.content as content, p.imageUrl as imageUrl,
+                   c.slug as categorySlug, a.email as authorEmail, p.createdAt as createdAt, p.updatedAt as updatedAt
+            from Post p
+            join p.category c
+            join p.author a
+            order by p.id
+            """)
+    Stream<ArchiveRow> streamArchiveRows();
+
+    interface ArchiveRow {
+        Long getId();
+        String getTitle();
+        String getContent();
+        String getImageUrl();
+        String getCategorySlug();
+        String getAuthorEmail();
+        Instant getCreatedAt();
+        Instant getUpdatedAt();
+    }
 
+    interface CommentsCounter {
+        Long getId();
+        long getCommentsCount();
+    }
+
+    interface VersionRow {
+        Long getId();
+        Instant getCreatedAt();
+        Instant getUpdatedAt();
+        long getCommentsCount();
+        Instant getCommentsChangedAt();
+        Instant getCategoryUpdatedAt();
+        Instant getAuthorUpdatedAt();
+    }
+
+    interface IndexRow {
+        Long getId();
+        Long getCategoryId();
+        String getTitle();
+        String getContent();
+        Instant getUpdatedAt();
+    }
+
+    interface ContentRow {
+        Long getId();
+        String getContent();
+    }
+
+    interface PostSummaryView {
+        Long getId();
+        String getTitle();
+        String getExcerpt();
+        String getImageUrl();
+        Long getCategoryId();
+        String getCategoryName();
+        Long getAuthorId();
+        String getAuthorName();
+        long getCommentsCount();
+        Instant getCreatedAt();
+        Instant getUpdatedAt();
+    }
+}
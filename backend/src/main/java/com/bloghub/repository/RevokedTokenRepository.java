@@ -0,0 +1,32 @@
+package com.bloghub.repository;
+
+import com.bloghub.domain.RevokedToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, Long> {
+    boolean existsByJti(String jti);
+
+    @Query("select t.jti as jti, t.expiresAt as expiresAt from RevokedToken t where t.expiresAt > :now")
+    List<DenyEntry> findActive(@Param("now") Instant now);
+
+    @Query("""
+            select t.jti as jti, t.expiresAt as expiresAt from RevokedToken t
+            where t.createdAt >= :since and t.expiresAt > :now
+            """)
+    List<DenyEntry> findCreatedSince(@Param("since") Instant since, @Param("now") Instant now);
+
+    @Modifying
+    @Query("delete from RevokedToken t where t.expiresAt <= :now")
+    int deleteExpired(@Param("now") Instant now);
+
+    interface DenyEntry {
+        String getJti();
+        Instant getExpiresAt();
+    }
+}
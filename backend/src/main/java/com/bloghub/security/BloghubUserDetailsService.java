@@ -15,8 +15,10 @@ public class BloghubUserDetailsService implements UserDetailsService {
         this.users = users;
     }
 
+    // Not read-only, so logins check the primary: on a lagging replica a user who just registered (or whose password
+    // just changed) would be refused, or let in with the old password.
     @Override
-    @Transactional(readOnly = true)
+    @Transactional
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
         var user = users.findByEmailIgnoreCase(email)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found"));
@@ -25,7 +27,8 @@ public class BloghubUserDetailsService implements UserDetailsService {
                 user.getId(),
                 user.getEmail(),
                 user.getPasswordHash(),
-                user.getRole().getName()
+                user.getRole().getName(),
+                user.getTokenVersion()
         );
     }
 }
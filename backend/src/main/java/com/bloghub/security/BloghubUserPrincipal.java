@@ -14,12 +14,14 @@ public class BloghubUserPrincipal implements UserDetails {
     private final String email;
     private final String passwordHash;
     private final RoleName role;
+    private final long tokenVersion;
 
-    public BloghubUserPrincipal(Long id, String email, String passwordHash, RoleName role) {
+    public BloghubUserPrincipal(Long id, String email, String passwordHash, RoleName role, long tokenVersion) {
         this.id = id;
         this.email = email;
         this.passwordHash = passwordHash;
         this.role = role;
+        this.tokenVersion = tokenVersion;
     }
 
     public Long getId() {
@@ -30,6 +32,10 @@ public class BloghubUserPrincipal implements UserDetails {
         return role;
     }
 
+    public long getTokenVersion() {
+        return tokenVersion;
+    }
+
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
         return List.of(new SimpleGrantedAuthority(role.name()));
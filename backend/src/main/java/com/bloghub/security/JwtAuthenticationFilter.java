@@ -1,5 +1,6 @@
 package com.bloghub.security;
 
+import com.bloghub.config.BloghubProperties;
 import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -8,6 +9,7 @@ import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -18,10 +20,22 @@ import java.io.IOException;
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private final JwtService jwtService;
     private final BloghubUserDetailsService userDetailsService;
+    private final TokenVersionCache tokenVersions;
+    private final TokenDenyList denyList;
+    private final boolean stateless;
 
-    public JwtAuthenticationFilter(JwtService jwtService, BloghubUserDetailsService userDetailsService) {
+    public JwtAuthenticationFilter(
+            JwtService jwtService,
+            BloghubUserDetailsService userDetailsService,
+            TokenVersionCache tokenVersions,
+            TokenDenyList denyList,
+            BloghubProperties props
+    ) {
         this.jwtService = jwtService;
         this.userDetailsService = userDetailsService;
+        this.tokenVersions = tokenVersions;
+        this.denyList = denyList;
+        this.stateless = props.security().jwt().stateless();
     }
 
     @Override
@@ -38,13 +52,19 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         String token = header.substring("Bearer ".length()).trim();
         try {
-            String email = jwtService.parseClaims(token).getSubject();
-            if (email == null || SecurityContextHolder.getContext().getAuthentication() != null) {
+            JwtService.VerifiedToken verified = jwtService.verify(token);
+            if (verified.subject() == null
+                    || denyList.isRevoked(verified.jti())
+                    || SecurityContextHolder.getContext().getAuthentication() != null) {
                 filterChain.doFilter(request, response);
                 return;
             }
 
-            UserDetails userDetails = userDetailsService.loadUserByUsername(email);
+            UserDetails userDetails = resolvePrincipal(verified);
+            if (userDetails == null) {
+                filterChain.doFilter(request, response);
+                return;
+            }
             var auth = new UsernamePasswordAuthenticationToken(
                     userDetails,
                     null,
@@ -58,5 +78,22 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         filterChain.doFilter(request, response);
     }
+
+    private UserDetails resolvePrincipal(JwtService.VerifiedToken verified) {
+        BloghubUserPrincipal fromClaims = verified.principal();
+        if (stateless && fromClaims != null) {
+            return tokenVersions.isCurrent(fromClaims.getId(), fromClaims.getTokenVersion()) ? fromClaims : null;
+        }
+        BloghubUserPrincipal loaded;
+        try {
+            loaded = (BloghubUserPrincipal) userDetailsService.loadUserByUsername(verified.subject());
+        } catch (UsernameNotFoundException ex) {
+            return null;
+        }
+        if (fromClaims != null && fromClaims.getTokenVersion() != loaded.getTokenVersion()) {
+            return null;
+        }
+        return loaded;
+    }
 }
 
@@ -1,25 +1,48 @@
 package com.bloghub.security;
 
 import com.bloghub.config.BloghubProperties;
+import com.bloghub.domain.RoleName;
+import com.bloghub.util.TokenHashes;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import org.springframework.stereotype.Service;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.time.Instant;
 import java.util.Date;
 import java.util.Map;
+import java.util.UUID;
 
 @Service
 public class JwtService {
+    private static final long VERIFIED_CACHE_SIZE = 50_000;
+    private static final Duration MAX_VERIFIED_TTL = Duration.ofMinutes(15);
+
     private final BloghubProperties props;
     private final SecretKey key;
+    private final JwtParser parser;
+    // Keyed by a SHA-256 digest so raw bearer tokens are never retained on the heap.
+    private final Cache<String, VerifiedToken> verified;
 
-    public JwtService(BloghubProperties props) {
+    public JwtService(BloghubProperties props, MeterRegistry meterRegistry) {
         this.props = props;
         this.key = Keys.hmacShaKeyFor(props.security().jwt().secret().getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parser().verifyWith(key).build();
+        this.verified = Caffeine.newBuilder()
+                .maximumSize(VERIFIED_CACHE_SIZE)
+                .expireAfter(new UntilTokenExpiry())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, verified, "jwt-verified");
     }
 
     public String generateToken(BloghubUserPrincipal principal) {
@@ -27,23 +50,86 @@ public class JwtService {
         Instant exp = now.plusSeconds(props.security().jwt().expirationMinutes() * 60);
 
         return Jwts.builder()
+                .id(UUID.randomUUID().toString())
                 .subject(principal.getUsername())
                 .issuedAt(Date.from(now))
                 .expiration(Date.from(exp))
                 .claims(Map.of(
                         "uid", principal.getId(),
-                        "role", principal.getRole().name()
+                        "role", principal.getRole().name(),
+                        "tv", principal.getTokenVersion()
                 ))
                 .signWith(key, Jwts.SIG.HS256)
                 .compact();
     }
 
+    /**
+     * Verifies the signature and expiry of a token, reusing the result for repeat presentations of the same
+     * token until it expires. Throws {@link io.jsonwebtoken.JwtException} for invalid tokens, which are not cached.
+     */
+    public VerifiedToken verify(String token) {
+        String digest = TokenHashes.sha256(token);
+        VerifiedToken cached = verified.getIfPresent(digest);
+        if (cached != null && cached.expiresAt().isAfter(Instant.now())) {
+            return cached;
+        }
+        Claims claims = parseClaims(token);
+        Instant expiresAt = claims.getExpiration() != null ? claims.getExpiration().toInstant() : null;
+        VerifiedToken result = new VerifiedToken(claims.getId(), claims.getSubject(), toPrincipal(claims), expiresAt);
+        if (expiresAt != null) {
+            verified.put(digest, result);
+        }
+        return result;
+    }
+
     public Claims parseClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(key)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        return parser.parseSignedClaims(token).getPayload();
+    }
+
+    // Returns null for tokens that predate the uid/role/tv claims; callers fall back to loading the user.
+    private BloghubUserPrincipal toPrincipal(Claims claims) {
+        Long userId = claims.get("uid", Long.class);
+        String role = claims.get("role", String.class);
+        Long tokenVersion = claims.get("tv", Long.class);
+        if (userId == null || role == null || tokenVersion == null || claims.getSubject() == null) {
+            return null;
+        }
+        try {
+            return new BloghubUserPrincipal(userId, claims.getSubject(), null, RoleName.valueOf(role), tokenVersion);
+        } catch (IllegalArgumentException ex) {
+            return null;
+        }
+    }
+
+    private static final class UntilTokenExpiry implements Expiry<String, VerifiedToken> {
+        @Override
+        public long expireAfterCreate(String digest, VerifiedToken token, long currentTime) {
+            return token.remainingLifetime().toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(String digest, VerifiedToken token, long currentTime, long currentDuration) {
+            return token.remainingLifetime().toNanos();
+        }
+
+        @Override
+        public long expireAfterRead(String digest, VerifiedToken token, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+
+    /**
+     * Result of a successful verification. {@code principal} is null for tokens without the uid/role/tv claims,
+     * {@code jti} for tokens issued before token ids were added.
+     */
+    public record VerifiedToken(String jti, String subject, BloghubUserPrincipal principal, Instant expiresAt) {
+        Duration remainingLifetime() {
+            Duration left = Duration.between(Instant.now(), expiresAt);
+            if (left.isNegative()) {
+                return Duration.ZERO;
+            }
+            return left.compareTo(MAX_VERIFIED_TTL) > 0 ? MAX_VERIFIED_TTL : left;
+        }
     }
 }
 
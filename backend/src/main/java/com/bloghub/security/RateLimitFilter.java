@@ -0,0 +1,167 @@
+package com.bloghub.security;
+
+import com.bloghub.config.BloghubProperties;
+import com.bloghub.web.dto.ErrorResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.PathContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Per-client token buckets for the routes listed under {@code bloghub.rate-limit.rules}. Runs after JWT
+ * authentication so signed-in callers are limited by user id and anonymous ones by remote address.
+ * The first matching rule applies; requests matching no rule are not limited.
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+    private final boolean enabled;
+    private final List<Rule> rules;
+    private final TokenBucketTable buckets;
+    private final long idleMillis;
+    private final ObjectMapper objectMapper;
+
+    public RateLimitFilter(BloghubProperties props, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        BloghubProperties.RateLimit config = props.rateLimit();
+        this.enabled = config.enabled();
+        this.objectMapper = objectMapper;
+        this.buckets = new TokenBucketTable(config.tableSize());
+        this.rules = new ArrayList<>();
+        long longestPeriod = 0;
+        for (BloghubProperties.RateLimit.Rule rule : config.rules()) {
+            if (rule.capacity() < 1 || rule.capacity() > TokenBucketTable.MAX_CAPACITY) {
+                throw new IllegalStateException("Rate limit rule '" + rule.name() + "' capacity must be 1.."
+                        + TokenBucketTable.MAX_CAPACITY);
+            }
+            rules.add(new Rule(
+                    rules.size() + 1,
+                    rule.methods() == null ? Set.of() : rule.methods().stream()
+                            .map(method -> method.toUpperCase(Locale.ROOT))
+                            .collect(Collectors.toUnmodifiableSet()),
+                    PathPatternParser.defaultInstance.parse(rule.path()),
+                    rule.capacity(),
+                    rule.period().toMillis(),
+                    Counter.builder("bloghub.ratelimit.rejected").tag("rule", rule.name()).register(meterRegistry)
+            ));
+            longestPeriod = Math.max(longestPeriod, rule.period().toMillis());
+        }
+        this.idleMillis = longestPeriod;
+        Gauge.builder("bloghub.ratelimit.buckets", buckets, TokenBucketTable::size).register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || rules.isEmpty();
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain
+    ) throws ServletException, IOException {
+        Rule rule = match(request);
+        if (rule == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        TokenBucketTable.Decision decision = buckets.tryAcquire(
+                bucketKey(clientKey(request), rule.id()),
+                rule.capacity(),
+                rule.periodMillis()
+        );
+        response.setHeader("RateLimit-Limit", String.valueOf(decision.limit()));
+        response.setHeader("RateLimit-Remaining", String.valueOf(decision.remaining()));
+        response.setHeader("RateLimit-Reset", String.valueOf(ceilSeconds(decision.resetMillis())));
+        if (decision.allowed()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        rule.rejected().increment();
+        ErrorResponse body = new ErrorResponse(
+                HttpStatus.TOO_MANY_REQUESTS.value(),
+                HttpStatus.TOO_MANY_REQUESTS.getReasonPhrase(),
+                "Rate limit exceeded, please retry later",
+                request.getRequestURI(),
+                null
+        );
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, ceilSeconds(decision.retryAfterMillis()))));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), body);
+    }
+
+    @Scheduled(
+            initialDelayString = "${bloghub.rate-limit.eviction-interval}",
+            fixedDelayString = "${bloghub.rate-limit.eviction-interval}"
+    )
+    public void evictIdleBuckets() {
+        buckets.evictIdle(idleMillis);
+    }
+
+    private Rule match(HttpServletRequest request) {
+        PathContainer path = PathContainer.parsePath(request.getRequestURI().substring(request.getContextPath().length()));
+        for (Rule rule : rules) {
+            if ((rule.methods().isEmpty() || rule.methods().contains(request.getMethod())) && rule.path().matches(path)) {
+                return rule;
+            }
+        }
+        return null;
+    }
+
+    // User ids are positive; address keys have the sign bit set so the two can never collide.
+    private static long clientKey(HttpServletRequest request) {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth != null && auth.getPrincipal() instanceof BloghubUserPrincipal principal) {
+            return principal.getId();
+        }
+        String address = request.getRemoteAddr();
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < address.length(); i++) {
+            h ^= address.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        return h | Long.MIN_VALUE;
+    }
+
+    private static long bucketKey(long clientKey, int ruleId) {
+        long key = clientKey * 0x9E3779B97F4A7C15L + ruleId;
+        return key == 0 ? 1 : key;
+    }
+
+    private static long ceilSeconds(long millis) {
+        return (millis + 999) / 1000;
+    }
+
+    private record Rule(
+            int id,
+            Set<String> methods,
+            PathPattern path,
+            long capacity,
+            long periodMillis,
+            Counter rejected
+    ) {}
+}
@@ -1,6 +1,9 @@
 package com.bloghub.security;
 
+import com.bloghub.config.BloghubProperties;
 import com.bloghub.web.ApiPaths;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -18,11 +21,16 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 @EnableMethodSecurity
 public class SecurityConfig {
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http, JwtAuthenticationFilter jwtFilter) throws Exception {
+    public SecurityFilterChain securityFilterChain(
+            HttpSecurity http,
+            JwtAuthenticationFilter jwtFilter,
+            RateLimitFilter rateLimitFilter
+    ) throws Exception {
         return http
                 .csrf(csrf -> csrf.disable())
                 .sessionManagement(sm -> sm.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(auth -> auth
+                        .requestMatchers(ApiPaths.V1 + "/auth/logout").authenticated()
                         .requestMatchers(
                                 ApiPaths.V1 + "/auth/**",
                                 "/v3/api-docs/**",
@@ -32,17 +40,34 @@ public class SecurityConfig {
                         .requestMatchers(HttpMethod.GET,
                                 ApiPaths.V1 + "/posts/**",
                                 ApiPaths.V1 + "/categories/**",
-                                ApiPaths.V1 + "/posts/*/comments"
+                                ApiPaths.V1 + "/posts/*/comments",
+                                ApiPaths.V1 + "/posts/*/comments/stream",
+                                ApiPaths.V1 + "/comments/*/replies"
                         ).permitAll()
+                        .requestMatchers("/actuator/health").permitAll()
+                        .requestMatchers("/actuator/**").hasRole("ADMIN")
                         .anyRequest().authenticated()
                 )
                 .addFilterBefore(jwtFilter, UsernamePasswordAuthenticationFilter.class)
+                .addFilterAfter(rateLimitFilter, JwtAuthenticationFilter.class)
                 .build();
     }
 
+    // Only runs inside the security chain, where the caller is already authenticated.
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilterRegistration(RateLimitFilter filter) {
+        FilterRegistrationBean<RateLimitFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.setEnabled(false);
+        return registration;
+    }
+
+    @Bean
+    public PasswordEncoder passwordEncoder(BloghubProperties props, MeterRegistry meterRegistry) {
+        return new BoundedPasswordEncoder(
+                new BCryptPasswordEncoder(),
+                props.security().passwordHashing(),
+                meterRegistry
+        );
     }
 
     @Bean
@@ -0,0 +1,138 @@
+package com.bloghub.security;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed-size open-addressed table of token buckets held in two primitive arrays and updated with CAS only.
+ *
+ * <p>Slots are grouped in stripes of eight, so a key's probe sequence stays inside one 64-byte line of the key array.
+ * Each bucket's state is packed into a single long: the last refill time (milliseconds since the table was created)
+ * in the high 40 bits and the remaining balance in milli-tokens in the low 24 bits. A key is never zero and an empty
+ * state is zero. When a stripe is full, the least recently refilled bucket in it is taken over.
+ */
+final class TokenBucketTable {
+    static final long MAX_CAPACITY = ((1L << 24) - 1) / 1000;
+
+    private static final int STRIPE = 8;
+    private static final int TOKEN_BITS = 24;
+    private static final long TOKEN_MASK = (1L << TOKEN_BITS) - 1;
+    private static final long MILLI = 1000;
+
+    private final AtomicLongArray keys;
+    private final AtomicLongArray states;
+    private final int stripeMask;
+    private final long epochMillis = System.currentTimeMillis();
+
+    TokenBucketTable(int minSlots) {
+        int slots = STRIPE;
+        while (slots < minSlots) {
+            slots <<= 1;
+        }
+        this.keys = new AtomicLongArray(slots);
+        this.states = new AtomicLongArray(slots);
+        this.stripeMask = slots / STRIPE - 1;
+    }
+
+    /**
+     * Takes one token from the bucket for {@code key}, creating a full bucket if none exists.
+     * {@code capacity} tokens refill evenly over {@code periodMillis}.
+     */
+    Decision tryAcquire(long key, long capacity, long periodMillis) {
+        long now = System.currentTimeMillis() - epochMillis + 1;
+        long full = capacity * MILLI;
+        int slot = slotFor(key);
+        while (true) {
+            long state = states.get(slot);
+            long tokens = full;
+            long time = now;
+            if (state != 0) {
+                long last = state >>> TOKEN_BITS;
+                long refill = Math.max(0, now - last) * full / periodMillis;
+                long balance = (state & TOKEN_MASK) + refill;
+                if (balance < full) {
+                    // Only move the clock by the time actually converted, so fractional refill isn't lost to polling.
+                    tokens = balance;
+                    time = last + refill * periodMillis / full;
+                }
+            }
+            boolean allowed = tokens >= MILLI;
+            long left = allowed ? tokens - MILLI : tokens;
+            if (states.compareAndSet(slot, state, (time << TOKEN_BITS) | left)) {
+                long resetMillis = (full - left) * periodMillis / full;
+                long retryMillis = allowed ? 0 : (MILLI - left) * periodMillis / full;
+                return new Decision(allowed, capacity, left / MILLI, resetMillis, retryMillis);
+            }
+        }
+    }
+
+    /**
+     * Frees buckets untouched for at least {@code idleMillis}. Callers pass at least the longest refill period,
+     * so an evicted bucket was already full and forgetting it changes nothing.
+     */
+    int evictIdle(long idleMillis) {
+        long cutoff = System.currentTimeMillis() - epochMillis + 1 - idleMillis;
+        int evicted = 0;
+        for (int slot = 0; slot < keys.length(); slot++) {
+            long key = keys.get(slot);
+            long state = states.get(slot);
+            if (key != 0 && state != 0 && (state >>> TOKEN_BITS) < cutoff && keys.compareAndSet(slot, key, 0)) {
+                states.compareAndSet(slot, state, 0);
+                evicted++;
+            }
+        }
+        return evicted;
+    }
+
+    int size() {
+        int used = 0;
+        for (int slot = 0; slot < keys.length(); slot++) {
+            if (keys.get(slot) != 0) {
+                used++;
+            }
+        }
+        return used;
+    }
+
+    private int slotFor(long key) {
+        int base = (int) (mix(key) & stripeMask) * STRIPE;
+        while (true) {
+            int oldest = base;
+            long oldestTime = Long.MAX_VALUE;
+            for (int i = 0; i < STRIPE; i++) {
+                int slot = base + i;
+                if (keys.get(slot) == key) {
+                    return slot;
+                }
+                long time = states.get(slot) >>> TOKEN_BITS;
+                if (time < oldestTime) {
+                    oldestTime = time;
+                    oldest = slot;
+                }
+            }
+            for (int i = 0; i < STRIPE; i++) {
+                int slot = base + i;
+                if (keys.get(slot) == 0 && keys.compareAndSet(slot, 0, key)) {
+                    states.set(slot, 0);
+                    return slot;
+                }
+            }
+            // Stripe full: reuse the stalest bucket. Its owner gets a fresh bucket next time, which only errs lenient.
+            long victim = keys.get(oldest);
+            if (victim != 0 && keys.compareAndSet(oldest, victim, key)) {
+                states.set(oldest, 0);
+                return oldest;
+            }
+        }
+    }
+
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    record Decision(boolean allowed, long limit, long remaining, long resetMillis, long retryAfterMillis) {}
+}
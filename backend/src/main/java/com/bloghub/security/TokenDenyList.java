@@ -0,0 +1,160 @@
+package com.bloghub.security;
+
+import com.bloghub.config.BloghubProperties;
+import com.bloghub.repository.RevokedTokenRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Revoked access-token ids (jti). A Bloom filter answers "definitely not revoked" for almost every token
+ * without touching the exact map; only filter hits are confirmed against it.
+ * Loaded before the web server starts, then kept in step with other instances by polling revoked_tokens.
+ */
+@Component
+public class TokenDenyList implements SmartInitializingSingleton {
+    private static final Logger log = LoggerFactory.getLogger(TokenDenyList.class);
+    // Re-read a little history on every sync so rows committed out of order are not missed.
+    private static final Duration SYNC_OVERLAP = Duration.ofMinutes(1);
+
+    private final RevokedTokenRepository revokedTokens;
+    private final TransactionTemplate transactionTemplate;
+    private final BloghubProperties.Security.Revocation config;
+    private final Map<String, Instant> exact = new ConcurrentHashMap<>();
+    private volatile BloomFilter filter;
+    private volatile Instant lastSync = Instant.EPOCH;
+
+    public TokenDenyList(
+            RevokedTokenRepository revokedTokens,
+            PlatformTransactionManager transactionManager,
+            BloghubProperties props,
+            MeterRegistry meterRegistry
+    ) {
+        this.revokedTokens = revokedTokens;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.config = props.security().revocation();
+        this.filter = new BloomFilter(config.expectedEntries(), config.falsePositiveRate());
+        Gauge.builder("bloghub.token.denylist.size", exact, Map::size).register(meterRegistry);
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        Instant now = Instant.now();
+        for (RevokedTokenRepository.DenyEntry entry : revokedTokens.findActive(now)) {
+            add(entry.getJti(), entry.getExpiresAt());
+        }
+        lastSync = now;
+        log.info("Token deny list loaded: {} revoked tokens", exact.size());
+    }
+
+    public boolean isRevoked(String jti) {
+        return jti != null && filter.mightContain(jti) && exact.containsKey(jti);
+    }
+
+    public synchronized void add(String jti, Instant expiresAt) {
+        exact.put(jti, expiresAt);
+        filter.put(jti);
+    }
+
+    @Scheduled(
+            initialDelayString = "${bloghub.security.revocation.sync-interval}",
+            fixedDelayString = "${bloghub.security.revocation.sync-interval}"
+    )
+    public void sync() {
+        Instant now = Instant.now();
+        for (RevokedTokenRepository.DenyEntry entry : revokedTokens.findCreatedSince(lastSync.minus(SYNC_OVERLAP), now)) {
+            if (!exact.containsKey(entry.getJti())) {
+                add(entry.getJti(), entry.getExpiresAt());
+            }
+        }
+        lastSync = now;
+    }
+
+    // Bloom filters can't forget, so expired ids are dropped from the map and the filter is rebuilt from what's left.
+    @Scheduled(
+            initialDelayString = "${bloghub.security.revocation.purge-interval}",
+            fixedDelayString = "${bloghub.security.revocation.purge-interval}"
+    )
+    public void purge() {
+        Instant now = Instant.now();
+        Integer deleted = transactionTemplate.execute(status -> revokedTokens.deleteExpired(now));
+        synchronized (this) {
+            exact.values().removeIf(expiresAt -> !expiresAt.isAfter(now));
+            BloomFilter rebuilt = new BloomFilter(
+                    Math.max(config.expectedEntries(), exact.size() * 2L),
+                    config.falsePositiveRate()
+            );
+            exact.keySet().forEach(rebuilt::put);
+            filter = rebuilt;
+        }
+        log.debug("Token deny list purged: {} expired rows deleted, {} active", deleted, exact.size());
+    }
+
+    private static final class BloomFilter {
+        private final AtomicLongArray bits;
+        private final long bitCount;
+        private final int hashCount;
+
+        BloomFilter(long expectedEntries, double falsePositiveRate) {
+            long n = Math.max(1, expectedEntries);
+            long m = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+            int words = (int) Math.max(1, (m + 63) / 64);
+            this.bits = new AtomicLongArray(words);
+            this.bitCount = words * 64L;
+            this.hashCount = Math.max(1, (int) Math.round((double) bitCount / n * Math.log(2)));
+        }
+
+        void put(String key) {
+            long h1 = hash(key);
+            long h2 = mix(h1 ^ 0x9E3779B97F4A7C15L) | 1;
+            for (int i = 0; i < hashCount; i++) {
+                long bit = Math.floorMod(h1 + i * h2, bitCount);
+                long mask = 1L << bit;
+                bits.accumulateAndGet((int) (bit >>> 6), mask, (word, m) -> word | m);
+            }
+        }
+
+        boolean mightContain(String key) {
+            long h1 = hash(key);
+            long h2 = mix(h1 ^ 0x9E3779B97F4A7C15L) | 1;
+            for (int i = 0; i < hashCount; i++) {
+                long bit = Math.floorMod(h1 + i * h2, bitCount);
+                if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        // FNV-1a over the UTF-16 chars, finished with a 64-bit avalanche mix.
+        private static long hash(String key) {
+            long h = 0xcbf29ce484222325L;
+            for (int i = 0; i < key.length(); i++) {
+                h ^= key.charAt(i);
+                h *= 0x100000001b3L;
+            }
+            return mix(h);
+        }
+
+        private static long mix(long h) {
+            h ^= h >>> 33;
+            h *= 0xff51afd7ed558ccdL;
+            h ^= h >>> 33;
+            h *= 0xc4ceb9fe1a85ec53L;
+            h ^= h >>> 33;
+            return h;
+        }
+    }
+}
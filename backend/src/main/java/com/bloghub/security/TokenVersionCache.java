@@ -0,0 +1,37 @@
+package com.bloghub.security;
+
+import com.bloghub.config.BloghubProperties;
+import com.bloghub.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+
+/**
+ * Short-lived view of each user's current token version, so stateless requests can reject tokens
+ * minted before a revocation without loading the user.
+ */
+@Component
+public class TokenVersionCache {
+    private static final long UNKNOWN_USER = -1L;
+
+    private final LoadingCache<Long, Long> versions;
+
+    public TokenVersionCache(UserRepository users, BloghubProperties props, MeterRegistry meterRegistry) {
+        this.versions = Caffeine.newBuilder()
+                .maximumSize(100_000)
+                .expireAfterWrite(props.security().jwt().tokenVersionTtl())
+                .recordStats()
+                .build(userId -> users.findTokenVersionById(userId).orElse(UNKNOWN_USER));
+        CaffeineCacheMetrics.monitor(meterRegistry, versions, "token-versions");
+    }
+
+    public boolean isCurrent(long userId, long tokenVersion) {
+        return versions.get(userId) == tokenVersion;
+    }
+
+    public void invalidate(Long userId) {
+        versions.invalidate(userId);
+    }
+}
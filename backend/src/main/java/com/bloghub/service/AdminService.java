@@ -1,19 +1,57 @@
 package com.bloghub.service;
 
+import com.bloghub.exception.ResourceNotFoundException;
+import com.bloghub.repository.CommentRepository;
+import com.bloghub.repository.PostRepository;
 import com.bloghub.repository.UserRepository;
+import com.bloghub.security.TokenVersionCache;
+import com.bloghub.util.AfterCommit;
 import com.bloghub.web.dto.PageResponse;
 import com.bloghub.web.dto.UserDto;
+import com.bloghub.web.dto.admin.CommentCountReconcileReport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 @Service
 public class AdminService {
+    private static final Logger log = LoggerFactory.getLogger(AdminService.class);
+
     private final UserRepository users;
+    private final PostRepository posts;
+    private final CommentRepository comments;
+    private final PostCache postCache;
+    private final RefreshTokenService refreshTokens;
+    private final TokenVersionCache tokenVersions;
+    private final TransactionTemplate transactionTemplate;
 
-    public AdminService(UserRepository users) {
+    public AdminService(
+            UserRepository users,
+            PostRepository posts,
+            CommentRepository comments,
+            PostCache postCache,
+            RefreshTokenService refreshTokens,
+            TokenVersionCache tokenVersions,
+            PlatformTransactionManager transactionManager
+    ) {
         this.users = users;
+        this.posts = posts;
+        this.comments = comments;
+        this.postCache = postCache;
+        this.refreshTokens = refreshTokens;
+        this.tokenVersions = tokenVersions;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
 
     @Transactional(readOnly = true)
@@ -30,5 +68,62 @@ public class AdminService {
                 });
         return PageResponse.fromPage(mapped);
     }
-}
 
+    // Bumping the token version invalidates every access token already issued to the user.
+    @Transactional
+    public void revokeUserTokens(Long userId) {
+        if (users.bumpTokenVersion(userId) == 0) {
+            throw new ResourceNotFoundException("User not found");
+        }
+        int refreshRevoked = refreshTokens.revokeAllForUser(userId);
+        AfterCommit.run(() -> tokenVersions.invalidate(userId));
+        log.info("Revoked all tokens for user {} ({} refresh tokens)", userId, refreshRevoked);
+    }
+
+    // One short transaction per batch, so the job never holds locks across the whole table.
+    public CommentCountReconcileReport reconcileCommentCounts(int batchSize) {
+        long afterId = 0;
+        long scanned = 0;
+        long repaired = 0;
+        int batches = 0;
+        while (true) {
+            long cursor = afterId;
+            BatchOutcome outcome = transactionTemplate.execute(status -> reconcileBatch(cursor, batchSize));
+            if (outcome == null || outcome.scanned() == 0) {
+                break;
+            }
+            batches++;
+            scanned += outcome.scanned();
+            repaired += outcome.repaired();
+            afterId = outcome.lastId();
+        }
+        log.info("Comment count reconcile finished: scanned={}, repaired={}, batches={}", scanned, repaired, batches);
+        return new CommentCountReconcileReport(scanned, repaired, batches);
+    }
+
+    private BatchOutcome reconcileBatch(long afterId, int batchSize) {
+        List<PostRepository.CommentsCounter> counters = posts.findCommentsCountersAfter(afterId, Limit.of(batchSize));
+        if (counters.isEmpty()) {
+            return new BatchOutcome(0, 0, afterId);
+        }
+        Map<Long, Long> actual = new HashMap<>();
+        for (CommentRepository.PostCommentCount row : comments.countByPostIds(
+                counters.stream().map(PostRepository.CommentsCounter::getId).toList())) {
+            actual.put(row.getPostId(), row.getTotal());
+        }
+        int repaired = 0;
+        for (PostRepository.CommentsCounter counter : counters) {
+            long expected = counter.getCommentsCount();
+            long real = actual.getOrDefault(counter.getId(), 0L);
+            // Conditional update: a concurrent add/delete moved the counter, so leave it to the next run.
+            if (expected != real && posts.repairCommentsCount(counter.getId(), expected, real, Instant.now()) > 0) {
+                Long postId = counter.getId();
+                AfterCommit.run(() -> postCache.invalidate(postId));
+                repaired++;
+            }
+        }
+        return new BatchOutcome(counters.size(), repaired, counters.get(counters.size() - 1).getId());
+    }
+
+    private record BatchOutcome(int scanned, int repaired, long lastId) {}
+}
@@ -1,22 +1,30 @@
 package com.bloghub.service;
 
+import com.bloghub.domain.RevokedToken;
 import com.bloghub.domain.RoleName;
 import com.bloghub.domain.User;
 import com.bloghub.exception.ConflictException;
+import com.bloghub.repository.RevokedTokenRepository;
 import com.bloghub.repository.RoleRepository;
 import com.bloghub.repository.UserRepository;
 import com.bloghub.security.BloghubUserPrincipal;
 import com.bloghub.security.JwtService;
+import com.bloghub.security.TokenDenyList;
+import com.bloghub.util.AfterCommit;
 import com.bloghub.web.dto.UserDto;
 import com.bloghub.web.dto.auth.AuthResponse;
 import com.bloghub.web.dto.auth.LoginRequest;
+import com.bloghub.web.dto.auth.LogoutRequest;
+import com.bloghub.web.dto.auth.RefreshRequest;
 import com.bloghub.web.dto.auth.RegisterRequest;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 @Service
 public class AuthService {
@@ -25,33 +33,55 @@ public class AuthService {
     private final PasswordEncoder passwordEncoder;
     private final AuthenticationManager authenticationManager;
     private final JwtService jwtService;
+    private final RefreshTokenService refreshTokens;
+    private final RevokedTokenRepository revokedTokens;
+    private final TokenDenyList denyList;
+    private final TransactionTemplate transactionTemplate;
 
     public AuthService(
             UserRepository users,
             RoleRepository roles,
             PasswordEncoder passwordEncoder,
             AuthenticationManager authenticationManager,
-            JwtService jwtService
+            JwtService jwtService,
+            RefreshTokenService refreshTokens,
+            RevokedTokenRepository revokedTokens,
+            TokenDenyList denyList,
+            PlatformTransactionManager transactionManager
     ) {
         this.users = users;
         this.roles = roles;
         this.passwordEncoder = passwordEncoder;
         this.authenticationManager = authenticationManager;
         this.jwtService = jwtService;
+        this.refreshTokens = refreshTokens;
+        this.revokedTokens = revokedTokens;
+        this.denyList = denyList;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
 
-    @Transactional
+    // Not transactional: the BCrypt hash can wait for a slot in the bounded encoder, and no JDBC connection should be
+    // held meanwhile. The duplicate check runs first so taken emails are rejected without hashing.
     public AuthResponse register(RegisterRequest request) {
         if (users.existsByEmailIgnoreCase(request.getEmail())) {
             throw new ConflictException("Email already in use");
         }
+        String passwordHash = passwordEncoder.encode(request.getPassword());
+        return transactionTemplate.execute(status -> insertUser(request, passwordHash));
+    }
+
+    private AuthResponse insertUser(RegisterRequest request, String passwordHash) {
+        // Checked again: another request may have taken the email while this one was hashing.
+        if (users.existsByEmailIgnoreCase(request.getEmail())) {
+            throw new ConflictException("Email already in use");
+        }
 
         var role = roles.findByName(RoleName.ROLE_USER)
                 .orElseThrow(() -> new IllegalStateException("ROLE_USER not configured"));
 
         User user = new User();
         user.setEmail(request.getEmail());
-        user.setPasswordHash(passwordEncoder.encode(request.getPassword()));
+        user.setPasswordHash(passwordHash);
         user.setDisplayName(request.getDisplayName());
         user.setRole(role);
 
@@ -61,12 +91,14 @@ public class AuthService {
                 saved.getId(),
                 saved.getEmail(),
                 saved.getPasswordHash(),
-                saved.getRole().getName()
+                saved.getRole().getName(),
+                saved.getTokenVersion()
         );
         String token = jwtService.generateToken(principal);
 
         AuthResponse response = new AuthResponse();
         response.setAccessToken(token);
+        response.setRefreshToken(refreshTokens.issue(saved.getId()));
         response.setUser(toUserDto(saved));
         return response;
     }
@@ -78,17 +110,53 @@ public class AuthService {
         BloghubUserPrincipal principal = (BloghubUserPrincipal) authentication.getPrincipal();
         String token = jwtService.generateToken(principal);
 
-        User user = users.findById(principal.getId())
+        User user = users.findWithRoleById(principal.getId())
                 .orElseThrow(() -> new IllegalStateException("User not found after authentication"));
 
         AuthResponse response = new AuthResponse();
         response.setAccessToken(token);
+        response.setRefreshToken(refreshTokens.issue(user.getId()));
         response.setUser(toUserDto(user));
         return response;
     }
 
+    // Not transactional: rotate() commits on its own, including a family revocation when it rejects the token.
+    public AuthResponse refresh(RefreshRequest request) {
+        RefreshTokenService.Rotation rotation = refreshTokens.rotate(request.getRefreshToken());
+        User user = rotation.user();
+        BloghubUserPrincipal principal = new BloghubUserPrincipal(
+                user.getId(),
+                user.getEmail(),
+                user.getPasswordHash(),
+                user.getRole().getName(),
+                user.getTokenVersion()
+        );
+
+        AuthResponse response = new AuthResponse();
+        response.setAccessToken(jwtService.generateToken(principal));
+        response.setRefreshToken(rotation.refreshToken());
+        response.setUser(toUserDto(user));
+        return response;
+    }
+
+    @Transactional
+    public void logout(String accessToken, LogoutRequest request, BloghubUserPrincipal principal) {
+        JwtService.VerifiedToken verified = jwtService.verify(accessToken);
+        String jti = verified.jti();
+        if (jti != null && !revokedTokens.existsByJti(jti)) {
+            RevokedToken revoked = new RevokedToken();
+            revoked.setJti(jti);
+            revoked.setExpiresAt(verified.expiresAt());
+            revokedTokens.save(revoked);
+            AfterCommit.run(() -> denyList.add(jti, verified.expiresAt()));
+        }
+        if (request != null && request.getRefreshToken() != null && !request.getRefreshToken().isBlank()) {
+            refreshTokens.revokeFamily(request.getRefreshToken(), principal.getId());
+        }
+    }
+
     public UserDto getCurrentUser(BloghubUserPrincipal principal) {
-        User user = users.findById(principal.getId())
+        User user = users.findWithRoleById(principal.getId())
                 .orElseThrow(() -> new IllegalStateException("User not found"));
         return toUserDto(user);
     }
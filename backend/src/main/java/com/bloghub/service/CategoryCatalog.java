@@ -0,0 +1,131 @@
+package com.bloghub.service;
+
+import com.bloghub.config.BloghubProperties;
+import com.bloghub.domain.Category;
+import com.bloghub.repository.CategoryRepository;
+import com.bloghub.web.dto.ApiResponse;
+import com.bloghub.web.dto.category.CategoryDto;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Immutable, pre-serialized snapshot of all categories. Writers bump the generation after commit;
+ * the next reader rebuilds the snapshot and swaps it in only if nothing newer was installed meanwhile.
+ * Snapshots older than the configured max age are rebuilt too, so other instances pick up changes.
+ */
+@Component
+public class CategoryCatalog {
+    private final CategoryRepository categories;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate primaryTransaction;
+    private final long maxAgeNanos;
+    private final AtomicLong generation = new AtomicLong(1);
+    private final AtomicReference<Snapshot> current = new AtomicReference<>();
+
+    public CategoryCatalog(
+            CategoryRepository categories,
+            ObjectMapper objectMapper,
+            PlatformTransactionManager transactionManager,
+            BloghubProperties props
+    ) {
+        this.categories = categories;
+        this.objectMapper = objectMapper;
+        this.maxAgeNanos = props.cache().categories().maxAge().toNanos();
+        // Not read-only so that, with replicas enabled, snapshots are read from the primary: a lagging replica would
+        // hand back the categories as they were before the write that just invalidated the snapshot.
+        this.primaryTransaction = new TransactionTemplate(transactionManager);
+    }
+
+    public Snapshot snapshot() {
+        Snapshot snapshot = current.get();
+        if (snapshot != null && snapshot.generation() >= generation.get()
+                && System.nanoTime() - snapshot.loadedAtNanos() < maxAgeNanos) {
+            return snapshot;
+        }
+        return reload();
+    }
+
+    public void invalidate() {
+        generation.incrementAndGet();
+    }
+
+    private Snapshot reload() {
+        long target = generation.get();
+        long loadedAt = System.nanoTime();
+        Snapshot fresh = primaryTransaction.execute(
+                status -> build(target, loadedAt, categories.findAll(Sort.by("id"))));
+        while (true) {
+            Snapshot installed = current.get();
+            if (installed != null && isNewer(installed, fresh)) {
+                return installed;
+            }
+            if (current.compareAndSet(installed, fresh)) {
+                return fresh;
+            }
+        }
+    }
+
+    private static boolean isNewer(Snapshot a, Snapshot b) {
+        if (a.generation() != b.generation()) {
+            return a.generation() > b.generation();
+        }
+        return a.loadedAtNanos() - b.loadedAtNanos() >= 0;
+    }
+
+    private Snapshot build(long generation, long loadedAt, List<Category> rows) {
+        List<CategoryDto> all = new ArrayList<>(rows.size());
+        Map<Long, Entry> byId = new HashMap<>();
+        Map<String, Entry> bySlug = new HashMap<>();
+        Instant lastModified = null;
+        for (Category category : rows) {
+            CategoryDto dto = new CategoryDto();
+            dto.setId(category.getId());
+            dto.setName(category.getName());
+            dto.setSlug(category.getSlug());
+            dto.setCreatedAt(category.getCreatedAt());
+            Entry entry = new Entry(dto, ResourceVersion.of("cat" + category.getId(), category.getUpdatedAt(), category.getUpdatedAt()));
+            all.add(dto);
+            byId.put(dto.getId(), entry);
+            bySlug.put(dto.getSlug().toLowerCase(Locale.ROOT), entry);
+            lastModified = ResourceVersion.latest(lastModified, category.getUpdatedAt());
+        }
+        List<CategoryDto> list = List.copyOf(all);
+        byte[] listBody;
+        try {
+            listBody = objectMapper.writeValueAsBytes(ApiResponse.success(list));
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Could not serialize category catalogue", ex);
+        }
+        ResourceVersion version = ResourceVersion.of("cats", lastModified, list.size(), lastModified);
+        return new Snapshot(generation, loadedAt, list, Map.copyOf(byId), Map.copyOf(bySlug), listBody, version);
+    }
+
+    public record Snapshot(
+            long generation,
+            long loadedAtNanos,
+            List<CategoryDto> all,
+            Map<Long, Entry> byId,
+            Map<String, Entry> bySlug,
+            byte[] listBody,
+            ResourceVersion version
+    ) {
+        public Entry findBySlug(String slug) {
+            return slug == null ? null : bySlug.get(slug.toLowerCase(Locale.ROOT));
+        }
+    }
+
+    public record Entry(CategoryDto category, ResourceVersion version) {}
+}
@@ -4,6 +4,7 @@ import com.bloghub.domain.Category;
 import com.bloghub.exception.BadRequestException;
 import com.bloghub.exception.ResourceNotFoundException;
 import com.bloghub.repository.CategoryRepository;
+import com.bloghub.util.AfterCommit;
 import com.bloghub.util.SlugUtils;
 import com.bloghub.web.dto.category.CategoryCreateRequest;
 import com.bloghub.web.dto.category.CategoryDto;
@@ -16,21 +17,41 @@ import java.util.List;
 @Service
 public class CategoryService {
     private final CategoryRepository categories;
+    private final CategoryCatalog catalog;
+    private final PostCache postCache;
 
-    public CategoryService(CategoryRepository categories) {
+    public CategoryService(CategoryRepository categories, CategoryCatalog catalog, PostCache postCache) {
         this.categories = categories;
+        this.catalog = catalog;
+        this.postCache = postCache;
     }
 
-    @Transactional(readOnly = true)
     public List<CategoryDto> listAll() {
-        return categories.findAll().stream().map(this::toDto).toList();
+        return catalog.snapshot().all();
+    }
+
+    public byte[] listAllSerialized() {
+        return catalog.snapshot().listBody();
+    }
+
+    public ResourceVersion getCatalogVersion() {
+        return catalog.snapshot().version();
     }
 
-    @Transactional(readOnly = true)
     public CategoryDto getById(Long id) {
-        Category category = categories.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Category not found"));
-        return toDto(category);
+        return findEntry(id).category();
+    }
+
+    public ResourceVersion getVersion(Long id) {
+        return findEntry(id).version();
+    }
+
+    public CategoryDto getBySlug(String slug) {
+        return findEntryBySlug(slug).category();
+    }
+
+    public ResourceVersion getVersionBySlug(String slug) {
+        return findEntryBySlug(slug).version();
     }
 
     @Transactional
@@ -46,6 +67,7 @@ public class CategoryService {
         category.setName(request.getName());
         category.setSlug(slug);
         Category saved = categories.save(category);
+        AfterCommit.run(catalog::invalidate);
         return toDto(saved);
     }
 
@@ -59,6 +81,11 @@ public class CategoryService {
         }
         category.setName(request.getName());
         category.setSlug(slug);
+        // Cached posts embed the category name.
+        AfterCommit.run(() -> {
+            catalog.invalidate();
+            postCache.invalidateAll();
+        });
         return toDto(category);
     }
 
@@ -68,6 +95,26 @@ public class CategoryService {
             throw new ResourceNotFoundException("Category not found");
         }
         categories.deleteById(id);
+        AfterCommit.run(() -> {
+            catalog.invalidate();
+            postCache.invalidateAll();
+        });
+    }
+
+    private CategoryCatalog.Entry findEntry(Long id) {
+        CategoryCatalog.Entry entry = catalog.snapshot().byId().get(id);
+        if (entry == null) {
+            throw new ResourceNotFoundException("Category not found");
+        }
+        return entry;
+    }
+
+    private CategoryCatalog.Entry findEntryBySlug(String slug) {
+        CategoryCatalog.Entry entry = catalog.snapshot().findBySlug(slug);
+        if (entry == null) {
+            throw new ResourceNotFoundException("Category not found");
+        }
+        return entry;
     }
 
     private CategoryDto toDto(Category category) {
@@ -79,4 +126,3 @@ public class CategoryService {
         return dto;
     }
 }
-
@@ -0,0 +1,264 @@
+package com.bloghub.service;
+
+import com.bloghub.config.BloghubProperties;
+import com.bloghub.domain.Comment;
+import com.bloghub.exception.ResourceNotFoundException;
+import com.bloghub.exception.ServiceUnavailableException;
+import com.bloghub.repository.CommentRepository;
+import com.bloghub.repository.PostRepository;
+import com.bloghub.repository.UserRepository;
+import com.bloghub.web.dto.comment.CommentDto;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Group commit for new top-level comments, enabled with {@code bloghub.comments.ingestion.enabled}.
+ *
+ * <p>Request threads put comments on a bounded queue and wait. One writer thread drains the queue and inserts
+ * everything it took in a single transaction: JDBC-batched inserts, post and author as references instead of loads,
+ * and one counter update per post. A batch is committed when it reaches {@code max-batch-size} or
+ * {@code max-delay} after its first comment, and only then are the waiting requests answered. Comments for posts that
+ * do not exist are found with one id lookup per batch and answered with {@link ResourceNotFoundException}. If the
+ * batch still fails, each comment is retried on its own so one bad row fails only its own request. A full queue
+ * answers {@link ServiceUnavailableException} straight away, and so does a comment still queued after
+ * {@code await-timeout}; one the writer has already taken is waited for, so a 503 always means nothing was written.
+ */
+@Service
+@ConditionalOnProperty(prefix = "bloghub.comments.ingestion", name = "enabled", havingValue = "true")
+public class CommentIngestionBuffer implements DisposableBean {
+    private static final Logger log = LoggerFactory.getLogger(CommentIngestionBuffer.class);
+
+    private final CommentRepository comments;
+    private final PostRepository posts;
+    private final UserRepository users;
+    private final PostCache postCache;
+    private final TransactionTemplate transactionTemplate;
+    private final BlockingQueue<Pending> queue;
+    private final int maxBatchSize;
+    private final long maxDelayNanos;
+    private final long awaitTimeoutNanos;
+    private final Duration retryAfter;
+    private final Thread writer;
+    private final Counter rejected;
+    private final DistributionSummary batchSizes;
+    private final Timer commitTimer;
+    private volatile boolean running = true;
+
+    public CommentIngestionBuffer(
+            CommentRepository comments,
+            PostRepository posts,
+            UserRepository users,
+            PostCache postCache,
+            PlatformTransactionManager transactionManager,
+            BloghubProperties props,
+            MeterRegistry meterRegistry
+    ) {
+        BloghubProperties.Comments.Ingestion config = props.comments().ingestion();
+        this.comments = comments;
+        this.posts = posts;
+        this.users = users;
+        this.postCache = postCache;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        // Bounds how long a request waits on a batch the writer has already taken (see add()).
+        this.transactionTemplate.setTimeout((int) Math.max(1, config.awaitTimeout().toSeconds()));
+        this.queue = new ArrayBlockingQueue<>(config.queueCapacity());
+        this.maxBatchSize = config.maxBatchSize();
+        this.maxDelayNanos = config.maxDelay().toNanos();
+        this.awaitTimeoutNanos = config.awaitTimeout().toNanos();
+        this.retryAfter = config.retryAfter();
+
+        this.rejected = Counter.builder("bloghub.comments.ingestion.rejected").register(meterRegistry);
+        this.batchSizes = DistributionSummary.builder("bloghub.comments.ingestion.batch.size").register(meterRegistry);
+        this.commitTimer = Timer.builder("bloghub.comments.ingestion.commit").register(meterRegistry);
+        Gauge.builder("bloghub.comments.ingestion.queue", queue, BlockingQueue::size).register(meterRegistry);
+
+        this.writer = new Thread(this::drain, "comment-ingestion");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    /** Queues the comment and blocks until the batch holding it has committed (or the comment has failed). */
+    public CommentDto add(Long postId, Long authorId, String content) {
+        Pending pending = new Pending(postId, authorId, content, new CompletableFuture<>());
+        if (!running || !queue.offer(pending)) {
+            rejected.increment();
+            throw new ServiceUnavailableException("Too many comments are being posted, please retry shortly", retryAfter);
+        }
+        try {
+            try {
+                return pending.result().get(awaitTimeoutNanos, TimeUnit.NANOSECONDS);
+            } catch (TimeoutException ex) {
+                if (queue.remove(pending)) {
+                    // Never written, so a retry cannot post it twice.
+                    throw new ServiceUnavailableException("Posting the comment timed out, please retry shortly",
+                            retryAfter);
+                }
+                // The writer has it: answering now could turn a retry into a duplicate. Its transaction has a
+                // timeout and every taken comment is completed, so this wait ends.
+                return pending.result().get();
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new ServiceUnavailableException("Posting the comment was interrupted, please retry", retryAfter);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException("Comment ingestion failed", ex.getCause());
+        }
+    }
+
+    /** Stops accepting comments, commits what is already queued, then stops the writer. */
+    @Override
+    public void destroy() throws InterruptedException {
+        running = false;
+        writer.join(TimeUnit.SECONDS.toMillis(30));
+        // Offered after the writer's last poll (add() checked running just before it was cleared), or the writer
+        // did not finish in time: fail these rather than leave their requests waiting for the timeout.
+        Pending left;
+        while ((left = queue.poll()) != null) {
+            left.result().completeExceptionally(
+                    new ServiceUnavailableException("The server is shutting down, please retry", retryAfter));
+        }
+    }
+
+    private void drain() {
+        List<Pending> batch = new ArrayList<>(maxBatchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                Pending first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + maxDelayNanos;
+                while (batch.size() < maxBatchSize) {
+                    long wait = deadline - System.nanoTime();
+                    Pending next = wait > 0 ? queue.poll(wait, TimeUnit.NANOSECONDS) : queue.poll();
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+            } catch (InterruptedException ex) {
+                // Only destroy() stops the writer; keep going until the queue is empty.
+                Thread.interrupted();
+            }
+            if (!batch.isEmpty()) {
+                try {
+                    write(batch);
+                } catch (Throwable ex) {
+                    // Anything that escapes write() must not kill the writer and strand every later request.
+                    log.error("Comment batch of {} failed", batch.size(), ex);
+                    batch.forEach(pending -> pending.result().completeExceptionally(ex));
+                }
+                batch.clear();
+            }
+        }
+    }
+
+    private void write(List<Pending> batch) {
+        batchSizes.record(batch.size());
+        List<CommentDto> saved;
+        // Only the transaction is retried: once it has committed, falling back to writeOne would insert twice.
+        try {
+            saved = commitTimer.record(() -> transactionTemplate.execute(status -> insert(batch)));
+        } catch (RuntimeException ex) {
+            log.warn("Comment batch of {} failed, retrying one by one: {}", batch.size(), ex.getMessage());
+            for (Pending pending : batch) {
+                writeOne(pending);
+            }
+            return;
+        }
+        invalidate(batch);
+        for (int i = 0; i < batch.size(); i++) {
+            complete(batch.get(i), saved.get(i));
+        }
+    }
+
+    private void writeOne(Pending pending) {
+        CommentDto saved;
+        try {
+            saved = transactionTemplate.execute(status -> insert(List.of(pending)).get(0));
+        } catch (DataIntegrityViolationException ex) {
+            // The post (or, rarely, the author) was deleted after the request was accepted. Checked on the primary.
+            boolean postExists = Boolean.TRUE.equals(
+                    transactionTemplate.execute(status -> posts.existsById(pending.postId())));
+            pending.result().completeExceptionally(postExists
+                    ? ex
+                    : new ResourceNotFoundException("Post not found"));
+            return;
+        } catch (RuntimeException ex) {
+            pending.result().completeExceptionally(ex);
+            return;
+        }
+        invalidate(List.of(pending));
+        complete(pending, saved);
+    }
+
+    private static void complete(Pending pending, CommentDto saved) {
+        if (saved == null) {
+            pending.result().completeExceptionally(new ResourceNotFoundException("Post not found"));
+        } else {
+            pending.result().complete(saved);
+        }
+    }
+
+    // Aligned with the batch; null where the post does not exist.
+    private List<CommentDto> insert(List<Pending> batch) {
+        List<Long> postIds = batch.stream().map(Pending::postId).distinct().toList();
+        Set<Long> existing = new HashSet<>(posts.findExistingIds(postIds));
+        List<Comment> rows = new ArrayList<>(batch.size());
+        Map<Long, Integer> addedPerPost = new LinkedHashMap<>();
+        for (Pending pending : batch) {
+            if (!existing.contains(pending.postId())) {
+                rows.add(null);
+                continue;
+            }
+            Comment comment = new Comment();
+            comment.setPost(posts.getReferenceById(pending.postId()));
+            comment.setAuthor(users.getReferenceById(pending.authorId()));
+            comment.setContent(pending.content());
+            rows.add(comment);
+            addedPerPost.merge(pending.postId(), 1, Integer::sum);
+        }
+        comments.saveAllAndFlush(rows.stream().filter(Objects::nonNull).toList());
+        Instant now = Instant.now();
+        addedPerPost.forEach((postId, added) -> posts.adjustCommentsCount(postId, added, now));
+        // Authors come from the second-level cache; the post proxies are never initialized.
+        return rows.stream().map(row -> row == null ? null : CommentService.toDto(row)).toList();
+    }
+
+    private void invalidate(List<Pending> batch) {
+        batch.stream().map(Pending::postId).distinct().forEach(postCache::invalidate);
+    }
+
+    private record Pending(Long postId, Long authorId, String content, CompletableFuture<CommentDto> result) {}
+}
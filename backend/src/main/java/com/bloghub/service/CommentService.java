@@ -4,18 +4,30 @@ import com.bloghub.domain.Comment;
 import com.bloghub.domain.Post;
 import com.bloghub.domain.RoleName;
 import com.bloghub.domain.User;
+import com.bloghub.exception.BadRequestException;
 import com.bloghub.exception.ForbiddenException;
 import com.bloghub.exception.ResourceNotFoundException;
 import com.bloghub.repository.CommentRepository;
 import com.bloghub.repository.PostRepository;
 import com.bloghub.repository.UserRepository;
 import com.bloghub.security.BloghubUserPrincipal;
+import com.bloghub.util.AfterCommit;
+import com.bloghub.util.CommentPaths;
+import com.bloghub.util.KeysetCursor;
+import com.bloghub.web.dto.CursorPageResponse;
 import com.bloghub.web.dto.comment.CommentCreateRequest;
 import com.bloghub.web.dto.comment.CommentDto;
-import org.springframework.data.domain.Sort;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
 import java.util.List;
 
 @Service
@@ -23,27 +35,126 @@ public class CommentService {
     private final CommentRepository comments;
     private final PostRepository posts;
     private final UserRepository users;
+    private final PostCache postCache;
+    private final CommentStreamHub streamHub;
+    private final ObjectProvider<CommentIngestionBuffer> ingestionBuffer;
+    private final TransactionTemplate transactionTemplate;
 
-    public CommentService(CommentRepository comments, PostRepository posts, UserRepository users) {
+    public CommentService(
+            CommentRepository comments,
+            PostRepository posts,
+            UserRepository users,
+            PostCache postCache,
+            CommentStreamHub streamHub,
+            ObjectProvider<CommentIngestionBuffer> ingestionBuffer,
+            PlatformTransactionManager transactionManager
+    ) {
         this.comments = comments;
         this.posts = posts;
         this.users = users;
+        this.postCache = postCache;
+        this.streamHub = streamHub;
+        this.ingestionBuffer = ingestionBuffer;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
 
     @Transactional(readOnly = true)
-    public List<CommentDto> listByPost(Long postId) {
-        return comments.findByPostId(postId, Sort.by(Sort.Direction.ASC, "createdAt"))
-                .stream()
-                .map(this::toDto)
-                .toList();
+    public CursorPageResponse<CommentDto> listByPost(Long postId, String cursor, int size) {
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        // One extra row tells us whether another page exists without a count query.
+        Limit limit = Limit.of(size + 1);
+        List<Comment> rows = after == null
+                ? comments.findPageByPost(postId, limit)
+                : comments.findPageByPostAfter(postId, after.createdAt(), after.id(), limit);
+
+        boolean hasNext = rows.size() > size;
+        List<Comment> pageRows = hasNext ? rows.subList(0, size) : rows;
+        String nextCursor = null;
+        if (hasNext) {
+            Comment last = pageRows.get(pageRows.size() - 1);
+            nextCursor = new KeysetCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+        return new CursorPageResponse<>(pageRows.stream().map(CommentService::toDto).toList(), size, nextCursor);
     }
 
-    @Transactional
+    /**
+     * Every reply below {@code commentId}, at any depth, in thread order (each reply directly after its parent).
+     * One range scan over (root_id, path); {@code cursor} is the path of the last reply already returned.
+     */
+    @Transactional(readOnly = true)
+    public CursorPageResponse<CommentDto> listReplies(Long commentId, String cursor, int size) {
+        Comment comment = comments.findById(commentId)
+                .orElseThrow(() -> new ResourceNotFoundException("Comment not found"));
+        Long rootId = comment.getRootId() != null ? comment.getRootId() : comment.getId();
+        String start = comment.getPath() != null ? comment.getPath() : "";
+        String end = comment.getPath() != null ? CommentPaths.subtreeEnd(comment.getPath()) : null;
+        String after = decodePathCursor(cursor);
+        if (after == null) {
+            after = start;
+        } else if (after.compareTo(start) <= 0 || (end != null && after.compareTo(end) >= 0)) {
+            throw new BadRequestException("Invalid cursor");
+        }
+
+        List<Comment> rows = comments.findSubtreePage(rootId, after, end, Limit.of(size + 1));
+        boolean hasNext = rows.size() > size;
+        List<Comment> pageRows = hasNext ? rows.subList(0, size) : rows;
+        String nextCursor = hasNext ? encodePathCursor(pageRows.get(pageRows.size() - 1).getPath()) : null;
+        return new CursorPageResponse<>(pageRows.stream().map(CommentService::toDto).toList(), size, nextCursor);
+    }
+
+    // Each page is its own representation, so the cursor position and size are part of the tag.
+    public ResourceVersion getListVersion(Long postId, String cursor, int size) {
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        return posts.findVersionById(postId)
+                .map(row -> ResourceVersion.of(
+                        "c" + postId,
+                        ResourceVersion.latest(row.getCommentsChangedAt(), row.getCreatedAt()),
+                        size,
+                        after == null ? null : after.createdAt(),
+                        after == null ? null : after.id(),
+                        row.getCommentsCount(),
+                        row.getCommentsChangedAt()
+                ))
+                .orElse(null);
+    }
+
+    // Not @Transactional: with the ingestion buffer on, the request must not hold a connection while it waits.
     public CommentDto addComment(Long postId, CommentCreateRequest request, BloghubUserPrincipal currentUser) {
+        CommentIngestionBuffer buffer = ingestionBuffer.getIfAvailable();
+        // Replies need their parent's path, so they are always written directly.
+        CommentDto added = buffer != null && request.getParentId() == null
+                ? buffer.add(postId, currentUser.getId(), request.getContent())
+                : transactionTemplate.execute(status -> insertComment(postId, request, currentUser));
+        // Both paths return after the commit.
+        streamHub.publishAdded(postId, added);
+        return added;
+    }
+
+    public SseEmitter subscribe(Long postId) {
+        // existsById is a read-only transaction of its own, which would go to a replica that may not have the post
+        // yet; inside this (read-write) transaction it stays on the primary.
+        if (!Boolean.TRUE.equals(transactionTemplate.execute(status -> posts.existsById(postId)))) {
+            throw new ResourceNotFoundException("Post not found");
+        }
+        return streamHub.subscribe(postId);
+    }
+
+    private CommentDto insertComment(Long postId, CommentCreateRequest request, BloghubUserPrincipal currentUser) {
         Post post = posts.findById(postId)
                 .orElseThrow(() -> new ResourceNotFoundException("Post not found"));
         User user = users.findById(currentUser.getId())
                 .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+        Comment parent = null;
+        if (request.getParentId() != null) {
+            parent = comments.findById(request.getParentId())
+                    .orElseThrow(() -> new BadRequestException("Parent comment not found"));
+            if (!parent.getPost().getId().equals(postId)) {
+                throw new BadRequestException("Parent comment belongs to another post");
+            }
+            if (parent.getDepth() >= CommentPaths.MAX_DEPTH) {
+                throw new BadRequestException("Replies cannot be nested more than " + CommentPaths.MAX_DEPTH + " levels deep");
+            }
+        }
 
         Comment comment = new Comment();
         comment.setPost(post);
@@ -51,6 +162,13 @@ public class CommentService {
         comment.setContent(request.getContent());
 
         Comment saved = comments.save(comment);
+        if (parent != null) {
+            // The path ends with the new id, which the sequence has just assigned.
+            saved.placeUnder(parent);
+            comments.adjustChildCount(parent.getId(), 1);
+        }
+        posts.adjustCommentsCount(postId, 1, Instant.now());
+        AfterCommit.run(() -> postCache.invalidate(postId));
         return toDto(saved);
     }
 
@@ -63,17 +181,54 @@ public class CommentService {
         if (!isOwner && !isAdmin) {
             throw new ForbiddenException("You are not allowed to delete this comment");
         }
+        Long postId = comment.getPost().getId();
+        // Replies go with it (ON DELETE CASCADE), so the post's counter drops by the whole subtree.
+        long removed = 1 + (comment.getPath() == null
+                ? comments.countSubtree(comment.getId(), "", null)
+                : comments.countSubtree(comment.getRootId(), comment.getPath(), CommentPaths.subtreeEnd(comment.getPath())));
+        Comment parent = comment.getParent();
         comments.delete(comment);
+        if (parent != null) {
+            comments.adjustChildCount(parent.getId(), -1);
+        }
+        posts.adjustCommentsCount(postId, -removed, Instant.now());
+        AfterCommit.run(() -> {
+            postCache.invalidate(postId);
+            streamHub.publishDeleted(postId, commentId);
+        });
     }
 
-    private CommentDto toDto(Comment comment) {
+    static CommentDto toDto(Comment comment) {
         CommentDto dto = new CommentDto();
         dto.setId(comment.getId());
         dto.setContent(comment.getContent());
         dto.setAuthorId(comment.getAuthor().getId());
         dto.setAuthorName(comment.getAuthor().getDisplayName());
+        dto.setParentId(comment.getParent() == null ? null : comment.getParent().getId());
+        dto.setDepth(comment.getDepth());
+        dto.setReplyCount(comment.getChildCount());
         dto.setCreatedAt(comment.getCreatedAt());
         return dto;
     }
+
+    private static String encodePathCursor(String path) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(path.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private static String decodePathCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        String path;
+        try {
+            path = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.US_ASCII);
+        } catch (IllegalArgumentException ex) {
+            throw new BadRequestException("Invalid cursor");
+        }
+        if (!CommentPaths.isValid(path)) {
+            throw new BadRequestException("Invalid cursor");
+        }
+        return path;
+    }
 }
 
@@ -0,0 +1,278 @@
+package com.bloghub.service;
+
+import com.bloghub.config.BloghubProperties;
+import com.bloghub.exception.ServiceUnavailableException;
+import com.bloghub.web.dto.comment.CommentDto;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Fans comment events out to the SSE subscribers of each post.
+ *
+ * <p>Subscribers are async {@link SseEmitter}s, so an open stream holds no request thread. Publishing serializes an
+ * event once and only queues it on each subscriber's bounded buffer; a small sender pool does the writes, one drain at
+ * a time per subscriber so events stay in order. A subscriber whose buffer is full is too slow to keep up and is
+ * disconnected; it can reconnect and reload the listing. Heartbeats go through the same buffers, so an idle client
+ * that stopped reading is caught too.
+ *
+ * <p>A send to a client whose TCP window is full blocks its sender thread until the container gives up on the write,
+ * and {@link SseEmitter#complete()} waits for that send too (both lock the emitter). So the emitter is only ever
+ * touched by the thread holding the subscriber's drain slot. The heartbeat drops subscribers whose send has been in
+ * flight past {@code write-timeout} and grows the pool by one thread for each such send until it returns.
+ */
+@Service
+public class CommentStreamHub implements DisposableBean {
+    private static final Set<DataWithMediaType> HEARTBEAT = SseEmitter.event().comment("heartbeat").build();
+    private static final Set<DataWithMediaType> SUBSCRIBED = SseEmitter.event().comment("subscribed").build();
+
+    private final ObjectMapper objectMapper;
+    private final Map<Long, Set<Subscriber>> subscribersByPost = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final ThreadPoolExecutor senders;
+    private final int sendThreads;
+    private final int maxStalledSenders;
+    private int stalledSenders;
+    private final int maxSubscribers;
+    private final int bufferSize;
+    private final long timeoutMillis;
+    private final long writeTimeoutNanos;
+    private final Duration retryAfter;
+    private final Counter evicted;
+    private final Counter stalled;
+
+    public CommentStreamHub(BloghubProperties props, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        BloghubProperties.Comments.Stream config = props.comments().stream();
+        this.objectMapper = objectMapper;
+        AtomicInteger threadIds = new AtomicInteger();
+        this.sendThreads = config.sendThreads();
+        // Each stalled send is covered by an extra thread; the cap bounds what a wave of dead clients can cost.
+        this.maxStalledSenders = sendThreads * 4;
+        this.senders = new ThreadPoolExecutor(sendThreads, sendThreads + maxStalledSenders, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), runnable -> {
+                    Thread thread = new Thread(runnable, "comment-stream-" + threadIds.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.maxSubscribers = config.maxSubscribers();
+        this.bufferSize = config.bufferSize();
+        this.timeoutMillis = config.timeout().toMillis();
+        this.writeTimeoutNanos = config.writeTimeout().toNanos();
+        this.retryAfter = config.retryAfter();
+        this.evicted = Counter.builder("bloghub.comments.stream.evicted").register(meterRegistry);
+        this.stalled = Counter.builder("bloghub.comments.stream.stalled").register(meterRegistry);
+        Gauge.builder("bloghub.comments.stream.subscribers", subscriberCount, AtomicInteger::get).register(meterRegistry);
+    }
+
+    public SseEmitter subscribe(Long postId) {
+        if (subscriberCount.incrementAndGet() > maxSubscribers) {
+            subscriberCount.decrementAndGet();
+            throw new ServiceUnavailableException("Too many open comment streams, please retry later", retryAfter);
+        }
+        SseEmitter emitter = newEmitter(timeoutMillis);
+        Subscriber subscriber = new Subscriber(postId, emitter, new ArrayBlockingQueue<>(bufferSize));
+        // Added inside the map operation: remove() drops a set once it is empty, and an add to a dropped set would
+        // leave this subscriber unreachable by publish().
+        subscribersByPost.compute(postId, (id, subscribers) -> {
+            Set<Subscriber> set = subscribers == null ? ConcurrentHashMap.newKeySet() : subscribers;
+            set.add(subscriber);
+            return set;
+        });
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(() -> remove(subscriber));
+        emitter.onError(ex -> remove(subscriber));
+        // Sent straight away so clients and proxies see the stream open before the first comment arrives.
+        enqueue(subscriber, SUBSCRIBED);
+        return emitter;
+    }
+
+    public void publishAdded(Long postId, CommentDto comment) {
+        publish(postId, () -> SseEmitter.event()
+                .name("comment-added")
+                .id(String.valueOf(comment.getId()))
+                .data(toJson(comment), MediaType.APPLICATION_JSON)
+                .build());
+    }
+
+    /** Replies of a deleted comment are deleted with it; clients drop them from the thread themselves. */
+    public void publishDeleted(Long postId, Long commentId) {
+        publish(postId, () -> SseEmitter.event()
+                .name("comment-deleted")
+                .data(toJson(Map.of("id", commentId)), MediaType.APPLICATION_JSON)
+                .build());
+    }
+
+    @Scheduled(
+            initialDelayString = "${bloghub.comments.stream.heartbeat-interval}",
+            fixedDelayString = "${bloghub.comments.stream.heartbeat-interval}"
+    )
+    public void heartbeat() {
+        long now = System.nanoTime();
+        subscribersByPost.values().forEach(subscribers -> subscribers.forEach(subscriber -> {
+            long sendingSince = subscriber.sendingSince;
+            if (sendingSince != 0 && now - sendingSince > writeTimeoutNanos) {
+                stalled.increment();
+                // Set before close() so that whichever side ends up with the drain slot gives the thread back.
+                subscriber.stalled.set(true);
+                resizeSenders(1);
+                close(subscriber);
+            } else {
+                enqueue(subscriber, HEARTBEAT);
+            }
+        }));
+    }
+
+    @Override
+    public void destroy() {
+        subscribersByPost.values().forEach(subscribers -> subscribers.forEach(this::close));
+        senders.shutdownNow();
+    }
+
+    // Overridden in tests to see what reaches each client without a servlet container.
+    SseEmitter newEmitter(long timeoutMillis) {
+        return new SseEmitter(timeoutMillis);
+    }
+
+    private void publish(Long postId, Supplier<Set<DataWithMediaType>> event) {
+        Set<Subscriber> subscribers = subscribersByPost.get(postId);
+        if (subscribers == null) {
+            return;
+        }
+        Set<DataWithMediaType> built = event.get();
+        subscribers.forEach(subscriber -> enqueue(subscriber, built));
+    }
+
+    private void enqueue(Subscriber subscriber, Set<DataWithMediaType> event) {
+        if (subscriber.closed.get()) {
+            return;
+        }
+        if (!subscriber.buffer.offer(event)) {
+            evicted.increment();
+            close(subscriber);
+            return;
+        }
+        if (subscriber.draining.compareAndSet(false, true)) {
+            senders.execute(() -> drain(subscriber));
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        while (true) {
+            Set<DataWithMediaType> event;
+            while (!subscriber.closed.get() && (event = subscriber.buffer.poll()) != null) {
+                subscriber.sendingSince = System.nanoTime();
+                try {
+                    subscriber.emitter.send(event);
+                } catch (IOException ex) {
+                    // The client went away. The callbacks may not fire for this, and without completing the async
+                    // request would hold its container slot until the timeout; this thread holds the drain slot.
+                    remove(subscriber);
+                    subscriber.emitter.completeWithError(ex);
+                    return;
+                } catch (IllegalStateException ex) {
+                    // The emitter already completed.
+                    remove(subscriber);
+                    return;
+                } finally {
+                    subscriber.sendingSince = 0;
+                    releaseIfStalled(subscriber);
+                }
+            }
+            if (subscriber.closing) {
+                // Closed while this thread held the drain slot, so completing is left to it.
+                subscriber.emitter.complete();
+                return;
+            }
+            subscriber.draining.set(false);
+            // An event queued between the last poll and the flag reset would otherwise wait for the next publish, and a
+            // close() that found the slot taken just before the reset would leave the emitter open.
+            if ((subscriber.buffer.isEmpty() && !subscriber.closing)
+                    || !subscriber.draining.compareAndSet(false, true)) {
+                return;
+            }
+        }
+    }
+
+    private String toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /** Disconnects the subscriber without waiting on a send that may be blocked. */
+    private void close(Subscriber subscriber) {
+        subscriber.closing = true;
+        remove(subscriber);
+        // Idle: take the drain slot so no send can start, and complete here. Otherwise the draining thread does it.
+        if (subscriber.draining.compareAndSet(false, true)) {
+            releaseIfStalled(subscriber);
+            subscriber.emitter.complete();
+        }
+    }
+
+    private void releaseIfStalled(Subscriber subscriber) {
+        if (subscriber.stalled.compareAndSet(true, false)) {
+            resizeSenders(-1);
+        }
+    }
+
+    private synchronized void resizeSenders(int delta) {
+        stalledSenders += delta;
+        senders.setCorePoolSize(sendThreads + Math.min(stalledSenders, maxStalledSenders));
+    }
+
+    private void remove(Subscriber subscriber) {
+        if (!subscriber.closed.compareAndSet(false, true)) {
+            return;
+        }
+        subscriberCount.decrementAndGet();
+        subscriber.buffer.clear();
+        subscribersByPost.computeIfPresent(subscriber.postId, (id, subscribers) -> {
+            subscribers.remove(subscriber);
+            return subscribers.isEmpty() ? null : subscribers;
+        });
+    }
+
+    private static final class Subscriber {
+        private final Long postId;
+        private final SseEmitter emitter;
+        private final BlockingQueue<Set<DataWithMediaType>> buffer;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private final AtomicBoolean stalled = new AtomicBoolean();
+        private volatile boolean closing;
+        // System.nanoTime() when the current send started, 0 while no send is in flight.
+        private volatile long sendingSince;
+
+        Subscriber(Long postId, SseEmitter emitter, BlockingQueue<Set<DataWithMediaType>> buffer) {
+            this.postId = postId;
+            this.emitter = emitter;
+            this.buffer = buffer;
+        }
+    }
+}
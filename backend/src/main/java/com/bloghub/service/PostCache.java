@@ -0,0 +1,44 @@
+package com.bloghub.service;
+
+import com.bloghub.config.BloghubProperties;
+import com.bloghub.web.dto.post.PostDto;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Function;
+
+@Component
+public class PostCache {
+    private final Cache<Long, Entry> cache;
+
+    public PostCache(BloghubProperties props, MeterRegistry meterRegistry) {
+        BloghubProperties.Cache.Posts config = props.cache().posts();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(config.maxSize())
+                .expireAfterWrite(config.ttl())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "posts");
+    }
+
+    public Entry get(Long id, Function<Long, Entry> loader) {
+        return cache.get(id, loader);
+    }
+
+    public Entry getIfPresent(Long id) {
+        return cache.getIfPresent(id);
+    }
+
+    public void invalidate(Long id) {
+        cache.invalidate(id);
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    public record Entry(PostDto post, ResourceVersion version) {}
+}
@@ -0,0 +1,50 @@
+package com.bloghub.service;
+
+import com.bloghub.repository.PostRepository;
+import com.bloghub.util.Excerpts;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+@Component
+public class PostExcerptBackfill {
+    private static final Logger log = LoggerFactory.getLogger(PostExcerptBackfill.class);
+    private static final int BATCH_SIZE = 200;
+
+    private final PostRepository posts;
+    private final TransactionTemplate transactionTemplate;
+
+    public PostExcerptBackfill(PostRepository posts, PlatformTransactionManager transactionManager) {
+        this.posts = posts;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    // Posts written before the excerpt column existed; bulk updates keep updatedAt untouched.
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        int filled = 0;
+        while (true) {
+            Integer batch = transactionTemplate.execute(status -> {
+                List<PostRepository.ContentRow> rows = posts.findMissingExcerpt(Limit.of(BATCH_SIZE));
+                for (PostRepository.ContentRow row : rows) {
+                    posts.updateExcerpt(row.getId(), Excerpts.of(row.getContent()));
+                }
+                return rows.size();
+            });
+            if (batch == null || batch == 0) {
+                break;
+            }
+            filled += batch;
+        }
+        if (filled > 0) {
+            log.info("Backfilled excerpts for {} posts", filled);
+        }
+    }
+}
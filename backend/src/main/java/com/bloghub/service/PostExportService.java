@@ -0,0 +1,124 @@
+package com.bloghub.service;
+
+import com.bloghub.repository.CommentRepository;
+import com.bloghub.repository.PostRepository;
+import com.bloghub.web.dto.admin.CommentArchiveRecord;
+import com.bloghub.web.dto.admin.PostArchiveRecord;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Writes every post with its comments as NDJSON in the {@link PostArchiveRecord} format read by the bulk import.
+ *
+ * <p>Posts come from one forward-only cursor in a read-only transaction. Every {@link #BATCH_SIZE} rows the comments
+ * of that batch are loaded with one IN query, the lines are written, and the persistence context is cleared, so heap
+ * use does not grow with the number of posts.
+ */
+@Service
+public class PostExportService {
+    private static final Logger log = LoggerFactory.getLogger(PostExportService.class);
+    private static final int BATCH_SIZE = 500;
+
+    private final PostRepository posts;
+    private final CommentRepository comments;
+    private final EntityManager entityManager;
+    private final ObjectWriter recordWriter;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public PostExportService(
+            PostRepository posts,
+            CommentRepository comments,
+            EntityManager entityManager,
+            ObjectMapper objectMapper,
+            PlatformTransactionManager transactionManager
+    ) {
+        this.posts = posts;
+        this.comments = comments;
+        this.entityManager = entityManager;
+        this.recordWriter = objectMapper.writerFor(PostArchiveRecord.class);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Streams the export to {@code out} and returns the number of posts written. The stream is flushed after each
+     * batch but not closed.
+     */
+    public long exportPosts(OutputStream out) {
+        long started = System.nanoTime();
+        Long exported = readOnlyTransaction.execute(status -> {
+            long written = 0;
+            List<PostRepository.ArchiveRow> batch = new ArrayList<>(BATCH_SIZE);
+            try (Stream<PostRepository.ArchiveRow> rows = posts.streamArchiveRows()) {
+                Iterator<PostRepository.ArchiveRow> cursor = rows.iterator();
+                while (cursor.hasNext()) {
+                    batch.add(cursor.next());
+                    if (batch.size() == BATCH_SIZE) {
+                        written += writeBatch(batch, out);
+                    }
+                }
+                written += writeBatch(batch, out);
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+            return written;
+        });
+        long total = exported == null ? 0 : exported;
+        log.info("Export finished: {} posts in {} ms", total, (System.nanoTime() - started) / 1_000_000);
+        return total;
+    }
+
+    private int writeBatch(List<PostRepository.ArchiveRow> batch, OutputStream out) throws IOException {
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        Map<Long, List<CommentArchiveRecord>> commentsByPost = new HashMap<>();
+        List<Long> postIds = batch.stream().map(PostRepository.ArchiveRow::getId).toList();
+        for (CommentRepository.ArchiveRow row : comments.findArchiveRowsByPostIdIn(postIds)) {
+            CommentArchiveRecord comment = new CommentArchiveRecord();
+            comment.setId(row.getId());
+            comment.setParentId(row.getParentId());
+            comment.setContent(row.getContent());
+            comment.setAuthorEmail(row.getAuthorEmail());
+            comment.setCreatedAt(row.getCreatedAt());
+            commentsByPost.computeIfAbsent(row.getPostId(), id -> new ArrayList<>()).add(comment);
+        }
+
+        for (PostRepository.ArchiveRow row : batch) {
+            PostArchiveRecord record = new PostArchiveRecord();
+            record.setId(row.getId());
+            record.setTitle(row.getTitle());
+            record.setContent(row.getContent());
+            record.setImageUrl(row.getImageUrl());
+            record.setCategory(row.getCategorySlug());
+            record.setAuthorEmail(row.getAuthorEmail());
+            record.setCreatedAt(row.getCreatedAt());
+            record.setUpdatedAt(row.getUpdatedAt());
+            record.setComments(commentsByPost.getOrDefault(row.getId(), List.of()));
+            out.write(recordWriter.writeValueAsBytes(record));
+            out.write('\n');
+        }
+        out.flush();
+
+        int written = batch.size();
+        batch.clear();
+        entityManager.clear();
+        return written;
+    }
+}
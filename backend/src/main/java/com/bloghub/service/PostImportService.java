@@ -0,0 +1,344 @@
+package com.bloghub.service;
+
+import com.bloghub.domain.Comment;
+import com.bloghub.domain.Post;
+import com.bloghub.repository.CategoryRepository;
+import com.bloghub.repository.UserRepository;
+import com.bloghub.util.AfterCommit;
+import com.bloghub.util.CommentPaths;
+import com.bloghub.util.Excerpts;
+import com.bloghub.web.dto.admin.CommentArchiveRecord;
+import com.bloghub.web.dto.admin.ImportChunkReport;
+import com.bloghub.web.dto.admin.ImportLineError;
+import com.bloghub.web.dto.admin.ImportSummary;
+import com.bloghub.web.dto.admin.PostArchiveRecord;
+import com.bloghub.web.dto.comment.CommentCreateRequest;
+import com.bloghub.web.dto.post.PostCreateRequest;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk import of posts with their comments from NDJSON (one {@link PostArchiveRecord} per line).
+ *
+ * <p>The body is read line by line, so memory use depends on the chunk size, not the file size. Each chunk of lines
+ * is validated with the same rules as {@code POST /posts} and {@code POST /posts/{id}/comments} and then written in
+ * one transaction. Inserts use JDBC batching, and the persistence context is cleared afterwards. An invalid line is
+ * rejected on its own; a chunk that fails to commit is reported as rejected and the import moves on to the next one.
+ */
+@Service
+public class PostImportService {
+    private static final Logger log = LoggerFactory.getLogger(PostImportService.class);
+    private static final int MAX_ERRORS_PER_CHUNK = 50;
+    private static final long UNKNOWN_USER = -1L;
+    // Author lookups are remembered across chunks, least recently used first out, so memory stays flat on big imports.
+    private static final int AUTHOR_CACHE_SIZE = 10_000;
+
+    private final ObjectReader recordReader;
+    private final Validator validator;
+    private final CategoryCatalog categoryCatalog;
+    private final CategoryRepository categories;
+    private final UserRepository users;
+    private final EntityManager entityManager;
+    private final JdbcTemplate jdbc;
+    private final PostSearchIndex searchIndex;
+    private final TransactionTemplate transactionTemplate;
+
+    public PostImportService(
+            ObjectMapper objectMapper,
+            Validator validator,
+            CategoryCatalog categoryCatalog,
+            CategoryRepository categories,
+            UserRepository users,
+            EntityManager entityManager,
+            JdbcTemplate jdbc,
+            PostSearchIndex searchIndex,
+            PlatformTransactionManager transactionManager
+    ) {
+        this.recordReader = objectMapper.readerFor(PostArchiveRecord.class);
+        this.validator = validator;
+        this.categoryCatalog = categoryCatalog;
+        this.categories = categories;
+        this.users = users;
+        this.entityManager = entityManager;
+        this.jdbc = jdbc;
+        this.searchIndex = searchIndex;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public ImportSummary importPosts(InputStream body, int chunkSize, Consumer<ImportChunkReport> progress)
+            throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        Map<String, Long> authorIds = new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+                return size() > AUTHOR_CACHE_SIZE;
+            }
+        };
+        Totals totals = new Totals();
+        Chunk chunk = new Chunk(1, 1);
+        long lineNumber = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            chunk.lines++;
+            prepare(lineNumber, line, authorIds, chunk);
+            if (chunk.lines == chunkSize) {
+                progress.accept(totals.add(write(chunk, lineNumber)));
+                chunk = new Chunk(chunk.number + 1, lineNumber + 1);
+            }
+        }
+        if (chunk.lines > 0) {
+            progress.accept(totals.add(write(chunk, lineNumber)));
+        }
+        log.info("Import finished: {} lines, {} posts, {} comments, {} rejected",
+                lineNumber, totals.posts, totals.comments, totals.rejected);
+        return new ImportSummary(lineNumber, totals.posts, totals.comments, totals.rejected, totals.chunks);
+    }
+
+    private void prepare(long lineNumber, String line, Map<String, Long> authorIds, Chunk chunk) {
+        PostArchiveRecord record;
+        try {
+            record = recordReader.readValue(line);
+        } catch (JsonProcessingException ex) {
+            chunk.reject(lineNumber, "Malformed JSON: " + ex.getOriginalMessage());
+            return;
+        }
+
+        List<String> problems = new ArrayList<>();
+        CategoryCatalog.Entry category = record.getCategory() == null
+                ? null
+                : categoryCatalog.snapshot().findBySlug(record.getCategory());
+        if (category == null) {
+            problems.add("category: unknown category '" + record.getCategory() + "'");
+        }
+        long authorId = resolveAuthor(record.getAuthorEmail(), authorIds);
+        if (authorId == UNKNOWN_USER) {
+            problems.add("authorEmail: unknown user '" + record.getAuthorEmail() + "'");
+        }
+
+        PostCreateRequest post = new PostCreateRequest();
+        post.setTitle(record.getTitle());
+        post.setContent(record.getContent());
+        post.setImageUrl(record.getImageUrl());
+        post.setCategoryId(category == null ? null : category.category().getId());
+        addViolations("", validator.validate(post), problems);
+
+        List<CommentArchiveRecord> comments = record.getComments() == null ? List.of() : record.getComments();
+        long[] commentAuthorIds = new long[comments.size()];
+        int[] commentParents = new int[comments.size()];
+        int[] depths = new int[comments.size()];
+        for (int i = 0; i < comments.size(); i++) {
+            CommentArchiveRecord comment = comments.get(i);
+            commentParents[i] = -1;
+            if (comment.getParentId() != null) {
+                // Replies must follow their parent within the same post, which is the order exports use.
+                for (int j = 0; j < i; j++) {
+                    if (comment.getParentId().equals(comments.get(j).getId())) {
+                        commentParents[i] = j;
+                        depths[i] = depths[j] + 1;
+                        break;
+                    }
+                }
+                if (commentParents[i] < 0) {
+                    problems.add("comments[" + i + "].parentId: no earlier comment with id " + comment.getParentId());
+                } else if (depths[i] > CommentPaths.MAX_DEPTH) {
+                    problems.add("comments[" + i + "].parentId: replies nest deeper than " + CommentPaths.MAX_DEPTH);
+                }
+            }
+            CommentCreateRequest request = new CommentCreateRequest();
+            request.setContent(comment.getContent());
+            addViolations("comments[" + i + "].", validator.validate(request), problems);
+            commentAuthorIds[i] = resolveAuthor(comment.getAuthorEmail(), authorIds);
+            if (commentAuthorIds[i] == UNKNOWN_USER) {
+                problems.add("comments[" + i + "].authorEmail: unknown user '" + comment.getAuthorEmail() + "'");
+            }
+        }
+
+        if (!problems.isEmpty()) {
+            chunk.reject(lineNumber, String.join("; ", problems));
+            return;
+        }
+        chunk.pending.add(new PendingPost(
+                lineNumber, record, comments, category.category().getId(), authorId, commentAuthorIds, commentParents));
+    }
+
+    private ImportChunkReport write(Chunk chunk, long lastLine) {
+        int commentCount = chunk.pending.stream().mapToInt(p -> p.comments().size()).sum();
+        if (!chunk.pending.isEmpty()) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> persist(chunk.pending));
+            } catch (RuntimeException ex) {
+                String reason = "Chunk rolled back: " + NestedExceptionUtils.getMostSpecificCause(ex).getMessage();
+                log.warn("Import chunk {} (lines {}-{}) failed", chunk.number, chunk.firstLine, lastLine, ex);
+                for (PendingPost pending : chunk.pending) {
+                    chunk.reject(pending.line(), reason);
+                }
+                chunk.pending.clear();
+                commentCount = 0;
+            }
+        }
+        return new ImportChunkReport(
+                chunk.number,
+                chunk.firstLine,
+                lastLine,
+                chunk.pending.size(),
+                commentCount,
+                chunk.rejected,
+                chunk.errors
+        );
+    }
+
+    private void persist(List<PendingPost> pending) {
+        List<Object[]> postTimes = new ArrayList<>();
+        List<Object[]> commentTimes = new ArrayList<>();
+        List<IndexEntry> indexEntries = new ArrayList<>(pending.size());
+        for (PendingPost item : pending) {
+            PostArchiveRecord record = item.record();
+            Post post = new Post();
+            post.setTitle(record.getTitle());
+            post.setContent(record.getContent());
+            post.setExcerpt(Excerpts.of(record.getContent()));
+            post.setImageUrl(record.getImageUrl());
+            post.setCategory(categories.getReferenceById(item.categoryId()));
+            post.setAuthor(users.getReferenceById(item.authorId()));
+            post.setCommentsCount(item.comments().size());
+            entityManager.persist(post);
+            // Indexed with the archived timestamp when there is one, matching the row after the restore below.
+            Instant updatedAt = post.getUpdatedAt();
+            if (record.getCreatedAt() != null) {
+                updatedAt = record.getUpdatedAt() != null ? record.getUpdatedAt() : record.getCreatedAt();
+                postTimes.add(new Object[]{Timestamp.from(record.getCreatedAt()), Timestamp.from(updatedAt), post.getId()});
+            }
+            indexEntries.add(new IndexEntry(
+                    post.getId(), item.categoryId(), post.getTitle(), post.getContent(), updatedAt));
+
+            Comment[] persisted = new Comment[item.comments().size()];
+            for (int i = 0; i < persisted.length; i++) {
+                CommentArchiveRecord source = item.comments().get(i);
+                Comment comment = new Comment();
+                comment.setContent(source.getContent());
+                comment.setPost(post);
+                comment.setAuthor(users.getReferenceById(item.commentAuthorIds()[i]));
+                entityManager.persist(comment);
+                persisted[i] = comment;
+                if (item.commentParents()[i] >= 0) {
+                    Comment parent = persisted[item.commentParents()[i]];
+                    comment.placeUnder(parent);
+                    parent.setChildCount(parent.getChildCount() + 1);
+                }
+                if (source.getCreatedAt() != null) {
+                    Timestamp createdAt = Timestamp.from(source.getCreatedAt());
+                    commentTimes.add(new Object[]{createdAt, createdAt, comment.getId()});
+                }
+            }
+        }
+        entityManager.flush();
+
+        // Auditing always stamps "now" on insert; archived timestamps are restored with one JDBC batch per table.
+        if (!postTimes.isEmpty()) {
+            jdbc.batchUpdate("update posts set created_at = ?, updated_at = ? where id = ?", postTimes);
+        }
+        if (!commentTimes.isEmpty()) {
+            jdbc.batchUpdate("update comments set created_at = ?, updated_at = ? where id = ?", commentTimes);
+        }
+
+        entityManager.clear();
+        AfterCommit.run(() -> indexEntries.forEach(entry -> searchIndex.index(
+                entry.postId(), entry.categoryId(), entry.title(), entry.content(), entry.updatedAt())));
+    }
+
+    private long resolveAuthor(String email, Map<String, Long> authorIds) {
+        if (email == null || email.isBlank()) {
+            return UNKNOWN_USER;
+        }
+        return authorIds.computeIfAbsent(
+                email.trim().toLowerCase(Locale.ROOT),
+                key -> users.findIdByEmail(key).orElse(UNKNOWN_USER)
+        );
+    }
+
+    private static void addViolations(String prefix, Set<? extends ConstraintViolation<?>> violations, List<String> problems) {
+        problems.addAll(violations.stream()
+                .map(v -> prefix + v.getPropertyPath() + ": " + v.getMessage())
+                .sorted()
+                .collect(Collectors.toList()));
+    }
+
+    private static final class Totals {
+        private long posts;
+        private long comments;
+        private long rejected;
+        private int chunks;
+
+        ImportChunkReport add(ImportChunkReport report) {
+            posts += report.getPostsImported();
+            comments += report.getCommentsImported();
+            rejected += report.getLinesRejected();
+            chunks++;
+            return report;
+        }
+    }
+
+    private static final class Chunk {
+        private final int number;
+        private final long firstLine;
+        private final List<PendingPost> pending = new ArrayList<>();
+        private final List<ImportLineError> errors = new ArrayList<>();
+        private int lines;
+        private int rejected;
+
+        Chunk(int number, long firstLine) {
+            this.number = number;
+            this.firstLine = firstLine;
+        }
+
+        void reject(long line, String message) {
+            rejected++;
+            if (errors.size() < MAX_ERRORS_PER_CHUNK) {
+                errors.add(new ImportLineError(line, message));
+            }
+        }
+    }
+
+    private record PendingPost(
+            long line,
+            PostArchiveRecord record,
+            List<CommentArchiveRecord> comments,
+            long categoryId,
+            long authorId,
+            long[] commentAuthorIds,
+            int[] commentParents
+    ) {}
+
+    private record IndexEntry(long postId, long categoryId, String title, String content, Instant updatedAt) {}
+}
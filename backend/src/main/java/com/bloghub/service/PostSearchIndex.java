@@ -0,0 +1,356 @@
+package com.bloghub.service;
+
+import com.bloghub.repository.PostRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index over post title and content.
+ * Postings are sorted primitive arrays of post ids; queries use AND semantics and BM25 ranking.
+ * Local writes are applied after commit; everything else (other instances, rows written straight to the database)
+ * is picked up by a periodic scan of posts whose updatedAt moved since the previous one.
+ */
+@Component
+public class PostSearchIndex {
+    private static final Logger log = LoggerFactory.getLogger(PostSearchIndex.class);
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final int TITLE_WEIGHT = 2;
+    private static final int MAX_TOKEN_LENGTH = 64;
+    private static final int REBUILD_BATCH_SIZE = 500;
+    // updatedAt is stamped before commit, so a row can become visible after a scan that started past its timestamp.
+    // Each scan re-reads this far back; rows already indexed at the same updatedAt are skipped.
+    private static final Duration SYNC_OVERLAP = Duration.ofMinutes(1);
+
+    private final PostRepository posts;
+    private final TransactionTemplate primaryTransaction;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Postings> postings = new HashMap<>();
+    private final Map<Long, Document> documents = new HashMap<>();
+    // Removals seen while a scan is running, so the scan does not put back a post deleted after it read the row.
+    private final Set<Long> removedDuringScan = new HashSet<>();
+    private boolean scanning = true;
+    private long totalLength;
+    private volatile boolean ready;
+    private volatile Instant syncedFrom;
+
+    public PostSearchIndex(PostRepository posts, PlatformTransactionManager transactionManager) {
+        this.posts = posts;
+        // Not read-only, so the rebuild scans the primary: posts a lagging replica had not applied yet would otherwise
+        // be missing from the index until the next restart.
+        this.primaryTransaction = new TransactionTemplate(transactionManager);
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long started = System.nanoTime();
+        Instant scanStarted = Instant.now();
+        long afterId = 0;
+        int batches = 0;
+        while (true) {
+            long cursor = afterId;
+            Long lastId = primaryTransaction.execute(status -> {
+                List<PostRepository.IndexRow> batch = posts.findIndexRowsAfter(cursor, Limit.of(REBUILD_BATCH_SIZE));
+                for (PostRepository.IndexRow row : batch) {
+                    index(row.getId(), row.getCategoryId(), row.getTitle(), row.getContent(), row.getUpdatedAt());
+                }
+                return batch.isEmpty() ? null : batch.get(batch.size() - 1).getId();
+            });
+            if (lastId == null) {
+                break;
+            }
+            batches++;
+            afterId = lastId;
+        }
+        endScan();
+        syncedFrom = scanStarted;
+        ready = true;
+        log.info("Post search index built: {} posts, {} terms, {} batches in {} ms",
+                documents.size(), postings.size(), batches, (System.nanoTime() - started) / 1_000_000);
+    }
+
+    @Scheduled(
+            initialDelayString = "${bloghub.cache.search.sync-interval}",
+            fixedDelayString = "${bloghub.cache.search.sync-interval}"
+    )
+    public void syncChanges() {
+        if (!ready) {
+            return;
+        }
+        Instant scanStarted = Instant.now();
+        lock.writeLock().lock();
+        try {
+            scanning = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        try {
+            Instant from = syncedFrom.minus(SYNC_OVERLAP);
+            Instant since = from;
+            long afterId = 0;
+            int changed = 0;
+            while (true) {
+                Instant cursorTime = since;
+                long cursorId = afterId;
+                List<PostRepository.IndexRow> batch = primaryTransaction.execute(status -> {
+                    List<PostRepository.IndexRow> rows =
+                            posts.findIndexRowsChangedAfter(cursorTime, cursorId, Limit.of(REBUILD_BATCH_SIZE));
+                    for (PostRepository.IndexRow row : rows) {
+                        index(row.getId(), row.getCategoryId(), row.getTitle(), row.getContent(), row.getUpdatedAt());
+                    }
+                    return rows;
+                });
+                if (batch.isEmpty()) {
+                    break;
+                }
+                changed += batch.size();
+                PostRepository.IndexRow last = batch.get(batch.size() - 1);
+                since = last.getUpdatedAt();
+                afterId = last.getId();
+            }
+            syncedFrom = scanStarted;
+            log.debug("Post search index synced: {} posts read since {}", changed, from);
+        } finally {
+            endScan();
+        }
+    }
+
+    public void index(long postId, long categoryId, String title, String content, Instant updatedAt) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        int length = 0;
+        for (String token : tokenize(title)) {
+            frequencies.merge(token, TITLE_WEIGHT, Integer::sum);
+            length += TITLE_WEIGHT;
+        }
+        for (String token : tokenize(content)) {
+            frequencies.merge(token, 1, Integer::sum);
+            length++;
+        }
+
+        lock.writeLock().lock();
+        try {
+            if (scanning && removedDuringScan.contains(postId)) {
+                return;
+            }
+            Document existing = documents.get(postId);
+            if (existing != null && updatedAt != null && existing.updatedAt() != null
+                    && !existing.updatedAt().isBefore(updatedAt)) {
+                // Already indexed at this version, or a newer local update raced ahead of the scan.
+                return;
+            }
+            if (existing != null) {
+                unlink(postId, existing);
+            }
+            String[] terms = frequencies.keySet().toArray(new String[0]);
+            for (String term : terms) {
+                postings.computeIfAbsent(term, t -> new Postings()).put(postId, frequencies.get(term));
+            }
+            documents.put(postId, new Document(categoryId, length, terms, updatedAt));
+            totalLength += length;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long postId) {
+        lock.writeLock().lock();
+        try {
+            if (scanning) {
+                removedDuringScan.add(postId);
+            }
+            Document existing = documents.remove(postId);
+            if (existing != null) {
+                unlink(postId, existing);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** {@code offset} is a long so any requested page maps to it without overflow; past the last hit gives no ids. */
+    public SearchHits search(String query, Long categoryId, long offset, int limit) {
+        Set<String> terms = new LinkedHashSet<>(tokenize(query));
+        if (terms.isEmpty()) {
+            return SearchHits.EMPTY;
+        }
+
+        lock.readLock().lock();
+        try {
+            Postings[] lists = new Postings[terms.size()];
+            int i = 0;
+            for (String term : terms) {
+                Postings list = postings.get(term);
+                if (list == null) {
+                    return SearchHits.EMPTY;
+                }
+                lists[i++] = list;
+            }
+            Arrays.sort(lists, (a, b) -> Integer.compare(a.size, b.size));
+
+            int docCount = documents.size();
+            double avgLength = docCount == 0 ? 1 : (double) totalLength / docCount;
+            double[] idf = new double[lists.length];
+            for (int t = 0; t < lists.length; t++) {
+                int df = lists[t].size;
+                idf[t] = Math.log(1 + (docCount - df + 0.5) / (df + 0.5));
+            }
+
+            Postings smallest = lists[0];
+            long[] ids = new long[smallest.size];
+            double[] scores = new double[smallest.size];
+            int hits = 0;
+            candidates:
+            for (int c = 0; c < smallest.size; c++) {
+                long postId = smallest.ids[c];
+                Document doc = documents.get(postId);
+                if (categoryId != null && doc.categoryId() != categoryId) {
+                    continue;
+                }
+                double norm = K1 * (1 - B + B * doc.length() / avgLength);
+                double score = 0;
+                for (int t = 0; t < lists.length; t++) {
+                    int at = t == 0 ? c : lists[t].indexOf(postId);
+                    if (at < 0) {
+                        continue candidates;
+                    }
+                    int tf = lists[t].freqs[at];
+                    score += idf[t] * (tf * (K1 + 1)) / (tf + norm);
+                }
+                ids[hits] = postId;
+                scores[hits] = score;
+                hits++;
+            }
+
+            Integer[] order = new Integer[hits];
+            for (int h = 0; h < hits; h++) {
+                order[h] = h;
+            }
+            // Best score first; ties go to the newer (higher) id.
+            Arrays.sort(order, (a, b) -> {
+                int byScore = Double.compare(scores[b], scores[a]);
+                return byScore != 0 ? byScore : Long.compare(ids[b], ids[a]);
+            });
+            List<Long> page = new ArrayList<>();
+            for (int h = (int) Math.min(Math.max(0, offset), hits); h < hits && page.size() < limit; h++) {
+                page.add(ids[order[h]]);
+            }
+            return new SearchHits(hits, page);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        StringBuilder current = new StringBuilder();
+        for (int i = 0; i < text.length(); ) {
+            int cp = text.codePointAt(i);
+            i += Character.charCount(cp);
+            if (Character.isLetterOrDigit(cp)) {
+                if (current.length() < MAX_TOKEN_LENGTH) {
+                    current.appendCodePoint(Character.toLowerCase(cp));
+                }
+            } else if (!current.isEmpty()) {
+                tokens.add(current.toString());
+                current.setLength(0);
+            }
+        }
+        if (!current.isEmpty()) {
+            tokens.add(current.toString());
+        }
+        return tokens;
+    }
+
+    private void endScan() {
+        lock.writeLock().lock();
+        try {
+            removedDuringScan.clear();
+            scanning = false;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void unlink(long postId, Document doc) {
+        for (String term : doc.terms()) {
+            Postings list = postings.get(term);
+            if (list != null && list.remove(postId) && list.size == 0) {
+                postings.remove(term);
+            }
+        }
+        totalLength -= doc.length();
+    }
+
+    public record SearchHits(long total, List<Long> ids) {
+        static final SearchHits EMPTY = new SearchHits(0, List.of());
+    }
+
+    private record Document(long categoryId, int length, String[] terms, Instant updatedAt) {}
+
+    private static final class Postings {
+        private long[] ids = new long[4];
+        private int[] freqs = new int[4];
+        private int size;
+
+        int indexOf(long postId) {
+            int at = Arrays.binarySearch(ids, 0, size, postId);
+            return at < 0 ? -1 : at;
+        }
+
+        void put(long postId, int freq) {
+            int at = Arrays.binarySearch(ids, 0, size, postId);
+            if (at >= 0) {
+                freqs[at] = freq;
+                return;
+            }
+            int insertAt = -(at + 1);
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+                freqs = Arrays.copyOf(freqs, size * 2);
+            }
+            System.arraycopy(ids, insertAt, ids, insertAt + 1, size - insertAt);
+            System.arraycopy(freqs, insertAt, freqs, insertAt + 1, size - insertAt);
+            ids[insertAt] = postId;
+            freqs[insertAt] = freq;
+            size++;
+        }
+
+        boolean remove(long postId) {
+            int at = Arrays.binarySearch(ids, 0, size, postId);
+            if (at < 0) {
+                return false;
+            }
+            System.arraycopy(ids, at + 1, ids, at, size - at - 1);
+            System.arraycopy(freqs, at + 1, freqs, at, size - at - 1);
+            size--;
+            return true;
+        }
+    }
+}
@@ -7,46 +7,250 @@ import com.bloghub.domain.User;
 import com.bloghub.exception.ForbiddenException;
 import com.bloghub.exception.ResourceNotFoundException;
 import com.bloghub.repository.CategoryRepository;
-import com.bloghub.repository.CommentRepository;
 import com.bloghub.repository.PostRepository;
 import com.bloghub.repository.UserRepository;
 import com.bloghub.security.BloghubUserPrincipal;
+import com.bloghub.util.AfterCommit;
+import com.bloghub.util.Excerpts;
+import com.bloghub.util.KeysetCursor;
+import com.bloghub.web.dto.CursorPageResponse;
 import com.bloghub.web.dto.PageResponse;
+import com.bloghub.web.dto.post.CommentCountsResponse;
+import com.bloghub.web.dto.post.PostBatchResponse;
 import com.bloghub.web.dto.post.PostCreateRequest;
 import com.bloghub.web.dto.post.PostDto;
+import com.bloghub.web.dto.post.PostSummaryDto;
 import com.bloghub.web.dto.post.PostUpdateRequest;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 
 @Service
 public class PostService {
+    private static final Sort FEED_ORDER = Sort.by(Sort.Direction.DESC, "createdAt", "id");
+
     private final PostRepository posts;
     private final CategoryRepository categories;
     private final UserRepository users;
-    private final CommentRepository comments;
+    private final PostSearchIndex searchIndex;
+    private final PostCache postCache;
+    private final TransactionTemplate readOnlyTransaction;
+    // Not read-only, so it stays on the primary; see load().
+    private final TransactionTemplate primaryTransaction;
 
-    public PostService(PostRepository posts, CategoryRepository categories, UserRepository users, CommentRepository comments) {
+    public PostService(
+            PostRepository posts,
+            CategoryRepository categories,
+            UserRepository users,
+            PostSearchIndex searchIndex,
+            PostCache postCache,
+            PlatformTransactionManager transactionManager
+    ) {
         this.posts = posts;
         this.categories = categories;
         this.users = users;
-        this.comments = comments;
+        this.searchIndex = searchIndex;
+        this.postCache = postCache;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.primaryTransaction = new TransactionTemplate(transactionManager);
     }
 
     @Transactional(readOnly = true)
     public PageResponse<PostDto> list(Long categoryId, String keyword, int page, int size) {
-        PageRequest pageable = PageRequest.of(page, size);
-        Page<Post> result = posts.search(categoryId, keyword, pageable);
-        Page<PostDto> mapped = result.map(this::toDtoWithCounts);
+        if (keyword != null && keyword.isBlank()) {
+            keyword = null;
+        }
+        if (keyword != null && searchIndex.isReady()) {
+            return searchByIndex(categoryId, keyword, page, size);
+        }
+        PageRequest pageable = PageRequest.of(page, size, FEED_ORDER);
+        Page<Post> result = posts.searchListing(categoryId, keyword, pageable);
+        Page<PostDto> mapped = result.map(this::toDto);
         return PageResponse.fromPage(mapped);
     }
 
     @Transactional(readOnly = true)
+    public PageResponse<PostSummaryDto> listSummaries(Long categoryId, String keyword, int page, int size) {
+        if (keyword != null && keyword.isBlank()) {
+            keyword = null;
+        }
+        if (keyword != null && searchIndex.isReady()) {
+            PostSearchIndex.SearchHits hits = searchIndex.search(keyword, categoryId, (long) page * size, size);
+            Map<Long, PostRepository.PostSummaryView> byId = new HashMap<>();
+            if (!hits.ids().isEmpty()) {
+                for (PostRepository.PostSummaryView view : posts.findSummariesByIdIn(hits.ids())) {
+                    byId.put(view.getId(), view);
+                }
+            }
+            List<PostSummaryDto> content = hits.ids().stream()
+                    .map(byId::get)
+                    .filter(Objects::nonNull)
+                    .map(PostService::toSummaryDto)
+                    .toList();
+            int totalPages = (int) ((hits.total() + size - 1) / size);
+            return new PageResponse<>(content, page, size, hits.total(), totalPages);
+        }
+        PageRequest pageable = PageRequest.of(page, size, FEED_ORDER);
+        Page<PostSummaryDto> mapped = posts.searchSummaries(categoryId, keyword, pageable)
+                .map(PostService::toSummaryDto);
+        return PageResponse.fromPage(mapped);
+    }
+
+    private PageResponse<PostDto> searchByIndex(Long categoryId, String keyword, int page, int size) {
+        PostSearchIndex.SearchHits hits = searchIndex.search(keyword, categoryId, (long) page * size, size);
+        Map<Long, Post> byId = new HashMap<>();
+        if (!hits.ids().isEmpty()) {
+            for (Post post : posts.findListingByIdIn(hits.ids())) {
+                byId.put(post.getId(), post);
+            }
+        }
+        List<PostDto> content = hits.ids().stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .map(this::toDto)
+                .toList();
+        int totalPages = (int) ((hits.total() + size - 1) / size);
+        return new PageResponse<>(content, page, size, hits.total(), totalPages);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPageResponse<PostDto> listByCursor(Long categoryId, String keyword, String cursor, int size) {
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        // One extra row tells us whether another page exists without a count query.
+        Limit limit = Limit.of(size + 1);
+        List<Post> rows = after == null
+                ? posts.findFeedFirstPage(categoryId, keyword, limit)
+                : posts.findFeedPageAfter(categoryId, keyword, after.createdAt(), after.id(), limit);
+
+        boolean hasNext = rows.size() > size;
+        List<Post> pageRows = hasNext ? rows.subList(0, size) : rows;
+        String nextCursor = null;
+        if (hasNext) {
+            Post last = pageRows.get(pageRows.size() - 1);
+            nextCursor = new KeysetCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+        return new CursorPageResponse<>(pageRows.stream().map(this::toDto).toList(), size, nextCursor);
+    }
+
+    // Not @Transactional: cache hits must not check out a connection.
     public PostDto get(Long id) {
-        Post post = posts.findById(id)
+        return postCache.get(id, this::load).post();
+    }
+
+    /**
+     * Posts in the order of {@code ids} (duplicates dropped). Cached posts are used as they are; the rest are read with
+     * one IN query and not written back, so a batch read can never put an older copy over a concurrent update.
+     */
+    public PostBatchResponse getMany(List<Long> ids) {
+        List<Long> requested = ids.stream().filter(Objects::nonNull).distinct().toList();
+        Map<Long, PostDto> byId = new HashMap<>();
+        List<Long> uncached = new ArrayList<>();
+        for (Long id : requested) {
+            PostCache.Entry cached = postCache.getIfPresent(id);
+            if (cached != null) {
+                byId.put(id, cached.post());
+            } else {
+                uncached.add(id);
+            }
+        }
+        if (!uncached.isEmpty()) {
+            readOnlyTransaction.executeWithoutResult(status -> {
+                for (Post post : posts.findListingByIdIn(uncached)) {
+                    byId.put(post.getId(), toDto(post));
+                }
+            });
+        }
+
+        PostBatchResponse response = new PostBatchResponse();
+        response.setPosts(requested.stream().map(byId::get).filter(Objects::nonNull).toList());
+        response.setMissingIds(requested.stream().filter(id -> !byId.containsKey(id)).toList());
+        return response;
+    }
+
+    /** Comment counts from the denormalized {@code commentsCount}, so one IN query on posts and no count on comments. */
+    @Transactional(readOnly = true)
+    public CommentCountsResponse getCommentCounts(List<Long> ids) {
+        List<Long> requested = ids.stream().filter(Objects::nonNull).distinct().toList();
+        Map<Long, Long> found = new HashMap<>();
+        if (!requested.isEmpty()) {
+            for (PostRepository.CommentsCounter row : posts.findCommentsCountersByIdIn(requested)) {
+                found.put(row.getId(), row.getCommentsCount());
+            }
+        }
+        Map<Long, Long> counts = new LinkedHashMap<>();
+        List<Long> missing = new ArrayList<>();
+        for (Long id : requested) {
+            Long count = found.get(id);
+            if (count != null) {
+                counts.put(id, count);
+            } else {
+                missing.add(id);
+            }
+        }
+
+        CommentCountsResponse response = new CommentCountsResponse();
+        response.setCounts(counts);
+        response.setMissingIds(missing);
+        return response;
+    }
+
+    public ResourceVersion getVersion(Long id) {
+        PostCache.Entry cached = postCache.getIfPresent(id);
+        if (cached != null) {
+            return cached.version();
+        }
+        return posts.findVersionById(id)
+                .map(row -> version(row.getId(), row.getUpdatedAt(), row.getCommentsCount(), row.getCommentsChangedAt(),
+                        row.getCategoryUpdatedAt(), row.getAuthorUpdatedAt()))
                 .orElseThrow(() -> new ResourceNotFoundException("Post not found"));
-        return toDtoWithCounts(post);
+    }
+
+    // Cache fills read from the primary: a lagging replica could return the row as it was before the write that just
+    // invalidated the entry, and that stale copy would then be served for the whole cache TTL.
+    private PostCache.Entry load(Long id) {
+        return primaryTransaction.execute(status -> {
+            Post post = posts.findListingById(id)
+                    .orElseThrow(() -> new ResourceNotFoundException("Post not found"));
+            ResourceVersion version = version(post.getId(), post.getUpdatedAt(), post.getCommentsCount(),
+                    post.getCommentsChangedAt(), post.getCategory().getUpdatedAt(), post.getAuthor().getUpdatedAt());
+            return new PostCache.Entry(toDto(post), version);
+        });
+    }
+
+    // The body embeds the category and author names, so renaming either has to change the tag too.
+    private static ResourceVersion version(
+            Long id,
+            Instant updatedAt,
+            long commentsCount,
+            Instant commentsChangedAt,
+            Instant categoryUpdatedAt,
+            Instant authorUpdatedAt
+    ) {
+        return ResourceVersion.of(
+                "p" + id,
+                ResourceVersion.latest(
+                        ResourceVersion.latest(updatedAt, commentsChangedAt),
+                        ResourceVersion.latest(categoryUpdatedAt, authorUpdatedAt)),
+                updatedAt,
+                commentsCount,
+                commentsChangedAt,
+                categoryUpdatedAt,
+                authorUpdatedAt
+        );
     }
 
     @Transactional
@@ -59,12 +263,14 @@ public class PostService {
         Post post = new Post();
         post.setTitle(request.getTitle());
         post.setContent(request.getContent());
+        post.setExcerpt(Excerpts.of(request.getContent()));
         post.setImageUrl(request.getImageUrl());
         post.setCategory(category);
         post.setAuthor(author);
 
         Post saved = posts.save(post);
-        return toDtoWithCounts(saved);
+        reindexAfterCommit(saved);
+        return toDto(saved);
     }
 
     @Transactional
@@ -78,10 +284,14 @@ public class PostService {
 
         post.setTitle(request.getTitle());
         post.setContent(request.getContent());
+        post.setExcerpt(Excerpts.of(request.getContent()));
         post.setImageUrl(request.getImageUrl());
         post.setCategory(category);
+        posts.flush();
+        reindexAfterCommit(post);
+        AfterCommit.run(() -> postCache.invalidate(id));
 
-        return toDtoWithCounts(post);
+        return toDto(post);
     }
 
     @Transactional
@@ -90,6 +300,19 @@ public class PostService {
                 .orElseThrow(() -> new ResourceNotFoundException("Post not found"));
         ensureCanModify(post, currentUser);
         posts.delete(post);
+        AfterCommit.run(() -> {
+            searchIndex.remove(id);
+            postCache.invalidate(id);
+        });
+    }
+
+    private void reindexAfterCommit(Post post) {
+        long postId = post.getId();
+        long categoryId = post.getCategory().getId();
+        String title = post.getTitle();
+        String content = post.getContent();
+        Instant updatedAt = post.getUpdatedAt();
+        AfterCommit.run(() -> searchIndex.index(postId, categoryId, title, content, updatedAt));
     }
 
     private void ensureCanModify(Post post, BloghubUserPrincipal currentUser) {
@@ -100,8 +323,23 @@ public class PostService {
         }
     }
 
-    private PostDto toDtoWithCounts(Post post) {
-        long commentCount = comments.countByPostId(post.getId());
+    private static PostSummaryDto toSummaryDto(PostRepository.PostSummaryView view) {
+        PostSummaryDto dto = new PostSummaryDto();
+        dto.setId(view.getId());
+        dto.setTitle(view.getTitle());
+        dto.setExcerpt(view.getExcerpt());
+        dto.setImageUrl(view.getImageUrl());
+        dto.setCategoryId(view.getCategoryId());
+        dto.setCategoryName(view.getCategoryName());
+        dto.setAuthorId(view.getAuthorId());
+        dto.setAuthorName(view.getAuthorName());
+        dto.setCreatedAt(view.getCreatedAt());
+        dto.setUpdatedAt(view.getUpdatedAt());
+        dto.setCommentsCount(view.getCommentsCount());
+        return dto;
+    }
+
+    private PostDto toDto(Post post) {
         PostDto dto = new PostDto();
         dto.setId(post.getId());
         dto.setTitle(post.getTitle());
@@ -113,7 +351,7 @@ public class PostService {
         dto.setAuthorName(post.getAuthor().getDisplayName());
         dto.setCreatedAt(post.getCreatedAt());
         dto.setUpdatedAt(post.getUpdatedAt());
-        dto.setCommentsCount(commentCount);
+        dto.setCommentsCount(post.getCommentsCount());
         return dto;
     }
 }
@@ -0,0 +1,99 @@
+package com.bloghub.service;
+
+import com.bloghub.config.BloghubProperties;
+import com.bloghub.domain.RefreshToken;
+import com.bloghub.domain.User;
+import com.bloghub.exception.UnauthorizedException;
+import com.bloghub.repository.RefreshTokenRepository;
+import com.bloghub.repository.UserRepository;
+import com.bloghub.util.TokenHashes;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+
+@Service
+public class RefreshTokenService {
+    private static final Logger log = LoggerFactory.getLogger(RefreshTokenService.class);
+    private static final int TOKEN_BYTES = 32;
+
+    private final RefreshTokenRepository refreshTokens;
+    private final UserRepository users;
+    private final Duration ttl;
+
+    public RefreshTokenService(RefreshTokenRepository refreshTokens, UserRepository users, BloghubProperties props) {
+        this.refreshTokens = refreshTokens;
+        this.users = users;
+        this.ttl = props.security().refresh().ttl();
+    }
+
+    @Transactional
+    public String issue(Long userId) {
+        return issue(users.getReferenceById(userId), UUID.randomUUID().toString(), Instant.now());
+    }
+
+    /**
+     * Exchanges a refresh token for a new one in the same family. Presenting a token that was already rotated
+     * means it leaked (or the client raced itself), so the whole family is revoked.
+     */
+    @Transactional(noRollbackFor = UnauthorizedException.class)
+    public Rotation rotate(String rawToken) {
+        Instant now = Instant.now();
+        RefreshToken current = refreshTokens.findByTokenHash(TokenHashes.sha256(rawToken))
+                .orElseThrow(() -> new UnauthorizedException("Invalid refresh token"));
+
+        if (current.getRevokedAt() != null || refreshTokens.revokeIfActive(current.getId(), now) == 0) {
+            int revoked = refreshTokens.revokeFamily(current.getFamilyId(), now);
+            log.warn("Refresh token reuse for user {}; revoked {} tokens in family {}",
+                    current.getUser().getId(), revoked, current.getFamilyId());
+            throw new UnauthorizedException("Invalid refresh token");
+        }
+        if (!current.getExpiresAt().isAfter(now)) {
+            throw new UnauthorizedException("Refresh token expired");
+        }
+
+        User user = current.getUser();
+        return new Rotation(user, issue(user, current.getFamilyId(), now));
+    }
+
+    // Logout: only the owner may revoke, and an unknown token is silently ignored.
+    @Transactional
+    public void revokeFamily(String rawToken, Long userId) {
+        refreshTokens.findByTokenHash(TokenHashes.sha256(rawToken))
+                .filter(token -> token.getUser().getId().equals(userId))
+                .ifPresent(token -> refreshTokens.revokeFamily(token.getFamilyId(), Instant.now()));
+    }
+
+    @Transactional
+    public int revokeAllForUser(Long userId) {
+        return refreshTokens.revokeAllForUser(userId, Instant.now());
+    }
+
+    @Scheduled(
+            initialDelayString = "${bloghub.security.revocation.purge-interval}",
+            fixedDelayString = "${bloghub.security.revocation.purge-interval}"
+    )
+    @Transactional
+    public void purgeExpired() {
+        int deleted = refreshTokens.deleteExpired(Instant.now());
+        log.debug("Purged {} expired refresh tokens", deleted);
+    }
+
+    private String issue(User user, String familyId, Instant now) {
+        String rawToken = TokenHashes.randomToken(TOKEN_BYTES);
+        RefreshToken token = new RefreshToken();
+        token.setTokenHash(TokenHashes.sha256(rawToken));
+        token.setFamilyId(familyId);
+        token.setUser(user);
+        token.setExpiresAt(now.plus(ttl));
+        refreshTokens.save(token);
+        return rawToken;
+    }
+
+    public record Rotation(User user, String refreshToken) {}
+}
@@ -0,0 +1,34 @@
+package com.bloghub.service;
+
+import java.time.Instant;
+import java.util.StringJoiner;
+
+public record ResourceVersion(String etag, Instant lastModified) {
+    public static ResourceVersion of(String kind, Instant lastModified, Object... parts) {
+        StringJoiner tag = new StringJoiner("-", "\"", "\"");
+        tag.add(kind);
+        for (Object part : parts) {
+            if (part == null) {
+                tag.add("0");
+            } else {
+                tag.add(part instanceof Instant instant ? stamp(instant) : part.toString());
+            }
+        }
+        return new ResourceVersion(tag.toString(), lastModified);
+    }
+
+    public static Instant latest(Instant a, Instant b) {
+        if (a == null) {
+            return b;
+        }
+        return b == null || a.isAfter(b) ? a : b;
+    }
+
+    public long lastModifiedMillis() {
+        return lastModified == null ? -1 : lastModified.toEpochMilli();
+    }
+
+    private static String stamp(Instant instant) {
+        return Long.toString(instant.getEpochSecond(), 36) + "." + Integer.toString(instant.getNano(), 36);
+    }
+}
@@ -0,0 +1,44 @@
+package com.bloghub.util;
+
+/**
+ * Materialized paths for comment replies. A reply's path is its parent's path followed by one fixed-width,
+ * zero-padded base36 segment holding the reply's own id; top-level comments have no path. Sorting a thread by path
+ * gives depth-first display order, and a whole subtree is the path range {@code (path, subtreeEnd(path))}.
+ */
+public final class CommentPaths {
+    // Long.MAX_VALUE in base 36 has 13 digits.
+    public static final int SEGMENT_LENGTH = 13;
+    // MySQL stops cascading deletes along a self-referencing foreign key after 15 levels.
+    public static final int MAX_DEPTH = 15;
+    public static final int MAX_LENGTH = SEGMENT_LENGTH * MAX_DEPTH;
+
+    private static final String ZEROS = "0".repeat(SEGMENT_LENGTH);
+
+    private CommentPaths() {}
+
+    public static String child(String parentPath, long id) {
+        String digits = Long.toString(id, 36);
+        String segment = ZEROS.substring(digits.length()) + digits;
+        return parentPath == null ? segment : parentPath + segment;
+    }
+
+    public static boolean isValid(String path) {
+        if (path.isEmpty() || path.length() > MAX_LENGTH || path.length() % SEGMENT_LENGTH != 0) {
+            return false;
+        }
+        for (int i = 0; i < path.length(); i++) {
+            char c = path.charAt(i);
+            if ((c < '0' || c > '9') && (c < 'a' || c > 'z')) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** Exclusive upper bound of the subtree under {@code path}: the same path with its last id incremented. */
+    public static String subtreeEnd(String path) {
+        int cut = path.length() - SEGMENT_LENGTH;
+        long last = Long.parseLong(path.substring(cut), 36);
+        return child(path.substring(0, cut), last + 1);
+    }
+}
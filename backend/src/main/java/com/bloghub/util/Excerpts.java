@@ -0,0 +1,36 @@
+package com.bloghub.util;
+
+public final class Excerpts {
+    public static final int MAX_LENGTH = 280;
+
+    private Excerpts() {}
+
+    public static String of(String content) {
+        if (content == null) {
+            return null;
+        }
+        StringBuilder out = new StringBuilder(Math.min(content.length(), MAX_LENGTH + 1));
+        boolean pendingSpace = false;
+        for (int i = 0; i < content.length() && out.length() <= MAX_LENGTH; i++) {
+            char c = content.charAt(i);
+            if (Character.isWhitespace(c)) {
+                pendingSpace = out.length() > 0;
+                continue;
+            }
+            if (pendingSpace) {
+                out.append(' ');
+                pendingSpace = false;
+            }
+            out.append(c);
+        }
+        if (out.length() <= MAX_LENGTH) {
+            return out.toString();
+        }
+        // Cut back to the last word boundary and leave room for the ellipsis.
+        int cut = out.lastIndexOf(" ", MAX_LENGTH - 1);
+        if (cut <= 0) {
+            cut = MAX_LENGTH - 1;
+        }
+        return out.substring(0, cut) + "…";
+    }
+}
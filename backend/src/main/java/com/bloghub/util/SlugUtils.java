@@ -5,18 +5,50 @@ import java.text.Normalizer;
 public final class SlugUtils {
     private SlugUtils() {}
 
+    /**
+     * Lower-case ASCII slug: accents are stripped, runs of whitespace and hyphens collapse into one hyphen,
+     * every other character is dropped, and leading/trailing hyphens are trimmed. Returns {@code null} when
+     * nothing is left.
+     *
+     * <p>Single pass over a char buffer; only non-ASCII input pays for NFD normalization.
+     */
     public static String toSlug(String input) {
         if (input == null) {
             return null;
         }
-        String slug = Normalizer.normalize(input, Normalizer.Form.NFD)
-                .replaceAll("\\p{InCombiningDiacriticalMarks}+", "")
-                .toLowerCase()
-                .replaceAll("[^a-z0-9\\s-]", "")
-                .replaceAll("\\s+", "-")
-                .replaceAll("-{2,}", "-")
-                .replaceAll("^-|-$", "");
-        return slug.isBlank() ? null : slug;
+        String source = isAscii(input) ? input : Normalizer.normalize(input, Normalizer.Form.NFD);
+        char[] out = new char[source.length()];
+        int length = 0;
+        boolean pendingHyphen = false;
+        for (int i = 0; i < source.length(); i++) {
+            char c = source.charAt(i);
+            if (c >= 'A' && c <= 'Z') {
+                c = (char) (c + ('a' - 'A'));
+            }
+            if ((c >= 'a' && c <= 'z') || (c >= '0' && c <= '9')) {
+                if (pendingHyphen && length > 0) {
+                    out[length++] = '-';
+                }
+                pendingHyphen = false;
+                out[length++] = c;
+            } else if (c == '-' || isSeparator(c)) {
+                pendingHyphen = true;
+            }
+        }
+        return length == 0 ? null : new String(out, 0, length);
     }
-}
 
+    private static boolean isAscii(String input) {
+        for (int i = 0; i < input.length(); i++) {
+            if (input.charAt(i) >= 0x80) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Same set as the regex class \s: space, \t, \n, \u000B, \f, \r.
+    private static boolean isSeparator(char c) {
+        return c == ' ' || (c >= '\t' && c <= '\r');
+    }
+}
@@ -1,28 +1,60 @@
 package com.bloghub.web;
 
 import com.bloghub.service.AdminService;
+import com.bloghub.service.PostExportService;
+import com.bloghub.service.PostImportService;
 import com.bloghub.web.dto.ApiResponse;
 import com.bloghub.web.dto.PageResponse;
 import com.bloghub.web.dto.UserDto;
+import com.bloghub.web.dto.admin.CommentCountReconcileReport;
+import com.bloghub.web.dto.admin.ImportSummary;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
 @RequestMapping(ApiPaths.V1 + "/admin")
 @Validated
 @PreAuthorize("hasRole('ADMIN')")
 public class AdminController {
+    private static final String NDJSON = "application/x-ndjson";
+
     private final AdminService adminService;
+    private final PostImportService importService;
+    private final PostExportService exportService;
+    private final ObjectMapper objectMapper;
 
-    public AdminController(AdminService adminService) {
+    public AdminController(
+            AdminService adminService,
+            PostImportService importService,
+            PostExportService exportService,
+            ObjectMapper objectMapper
+    ) {
         this.adminService = adminService;
+        this.importService = importService;
+        this.exportService = exportService;
+        this.objectMapper = objectMapper;
     }
 
     @GetMapping("/users")
@@ -32,5 +64,65 @@ public class AdminController {
     ) {
         return ResponseEntity.ok(ApiResponse.success(adminService.listUsers(page, size)));
     }
-}
 
+    @PostMapping("/users/{id}/revoke-tokens")
+    public ResponseEntity<Void> revokeUserTokens(@PathVariable Long id) {
+        adminService.revokeUserTokens(id);
+        return ResponseEntity.noContent().build();
+    }
+
+    @PostMapping("/posts/comment-counts/reconcile")
+    public ResponseEntity<ApiResponse<CommentCountReconcileReport>> reconcileCommentCounts(
+            @RequestParam(defaultValue = "500") @Min(1) @Max(5000) int batchSize
+    ) {
+        return ResponseEntity.ok(ApiResponse.success(
+                "Comment counts reconciled",
+                adminService.reconcileCommentCounts(batchSize)
+        ));
+    }
+
+    // Streams one progress line per committed chunk, then a summary line, so long imports show progress as they go.
+    @PostMapping(value = "/import", consumes = NDJSON)
+    public void importPosts(
+            @RequestParam(defaultValue = "500") @Min(1) @Max(5000) int chunkSize,
+            HttpServletRequest request,
+            HttpServletResponse response
+    ) throws IOException {
+        response.setContentType(NDJSON);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        OutputStream out = response.getOutputStream();
+        ImportSummary summary = importService.importPosts(request.getInputStream(), chunkSize, report -> {
+            try {
+                writeLine(out, report);
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        });
+        writeLine(out, summary);
+    }
+
+    // Written from an async MVC thread after the handler returns; the body is the same format /import reads.
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportPosts(@RequestParam(defaultValue = "false") boolean gzip) {
+        String filename = gzip ? "bloghub-export.ndjson.gz" : "bloghub-export.ndjson";
+        StreamingResponseBody body = out -> {
+            if (gzip) {
+                GZIPOutputStream compressed = new GZIPOutputStream(out, 64 * 1024, true);
+                exportService.exportPosts(compressed);
+                compressed.finish();
+            } else {
+                exportService.exportPosts(out);
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(gzip ? MediaType.parseMediaType("application/gzip") : MediaType.parseMediaType(NDJSON))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(filename).build().toString())
+                .body(body);
+    }
+
+    private void writeLine(OutputStream out, Object value) throws IOException {
+        out.write(objectMapper.writeValueAsBytes(value));
+        out.write('\n');
+        out.flush();
+    }
+}
@@ -7,12 +7,16 @@ import com.bloghub.web.dto.ApiResponse;
 import com.bloghub.web.dto.UserDto;
 import com.bloghub.web.dto.auth.AuthResponse;
 import com.bloghub.web.dto.auth.LoginRequest;
+import com.bloghub.web.dto.auth.LogoutRequest;
+import com.bloghub.web.dto.auth.RefreshRequest;
 import com.bloghub.web.dto.auth.RegisterRequest;
 import jakarta.validation.Valid;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -37,6 +41,22 @@ public class AuthController {
         return ResponseEntity.ok(ApiResponse.success("Login successful", response));
     }
 
+    @PostMapping("/refresh")
+    public ResponseEntity<ApiResponse<AuthResponse>> refresh(@Valid @RequestBody RefreshRequest request) {
+        AuthResponse response = authService.refresh(request);
+        return ResponseEntity.ok(ApiResponse.success("Token refreshed", response));
+    }
+
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(
+            @RequestHeader(HttpHeaders.AUTHORIZATION) String authorization,
+            @Valid @RequestBody(required = false) LogoutRequest request,
+            @CurrentUser BloghubUserPrincipal principal
+    ) {
+        authService.logout(authorization.substring("Bearer ".length()).trim(), request, principal);
+        return ResponseEntity.noContent().build();
+    }
+
     @GetMapping("/me")
     public ResponseEntity<ApiResponse<UserDto>> me(@CurrentUser BloghubUserPrincipal principal) {
         UserDto dto = authService.getCurrentUser(principal);
@@ -1,11 +1,13 @@
 package com.bloghub.web;
 
 import com.bloghub.service.CategoryService;
+import com.bloghub.service.ResourceVersion;
 import com.bloghub.web.dto.ApiResponse;
 import com.bloghub.web.dto.category.CategoryCreateRequest;
 import com.bloghub.web.dto.category.CategoryDto;
 import com.bloghub.web.dto.category.CategoryUpdateRequest;
 import jakarta.validation.Valid;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -16,8 +18,7 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
-
-import java.util.List;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 @RequestMapping(ApiPaths.V1 + "/categories")
@@ -29,15 +30,35 @@ public class CategoryController {
     }
 
     @GetMapping
-    public ResponseEntity<ApiResponse<List<CategoryDto>>> list() {
-        return ResponseEntity.ok(ApiResponse.success(categoryService.listAll()));
+    public ResponseEntity<byte[]> list(WebRequest webRequest) {
+        ResourceVersion version = categoryService.getCatalogVersion();
+        if (webRequest.checkNotModified(version.etag(), version.lastModifiedMillis())) {
+            return null;
+        }
+        // Body is the pre-serialized ApiResponse<List<CategoryDto>> held by the catalogue snapshot.
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(categoryService.listAllSerialized());
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<ApiResponse<CategoryDto>> get(@PathVariable Long id) {
+    public ResponseEntity<ApiResponse<CategoryDto>> get(@PathVariable Long id, WebRequest webRequest) {
+        ResourceVersion version = categoryService.getVersion(id);
+        if (webRequest.checkNotModified(version.etag(), version.lastModifiedMillis())) {
+            return null;
+        }
         return ResponseEntity.ok(ApiResponse.success(categoryService.getById(id)));
     }
 
+    @GetMapping("/slug/{slug}")
+    public ResponseEntity<ApiResponse<CategoryDto>> getBySlug(@PathVariable String slug, WebRequest webRequest) {
+        ResourceVersion version = categoryService.getVersionBySlug(slug);
+        if (webRequest.checkNotModified(version.etag(), version.lastModifiedMillis())) {
+            return null;
+        }
+        return ResponseEntity.ok(ApiResponse.success(categoryService.getBySlug(slug)));
+    }
+
     @PostMapping
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<ApiResponse<CategoryDto>> create(@Valid @RequestBody CategoryCreateRequest request) {
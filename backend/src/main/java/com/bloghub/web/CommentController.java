@@ -3,23 +3,31 @@ package com.bloghub.web;
 import com.bloghub.security.BloghubUserPrincipal;
 import com.bloghub.security.CurrentUser;
 import com.bloghub.service.CommentService;
+import com.bloghub.service.ResourceVersion;
 import com.bloghub.web.dto.ApiResponse;
+import com.bloghub.web.dto.CursorPageResponse;
 import com.bloghub.web.dto.comment.CommentCreateRequest;
 import com.bloghub.web.dto.comment.CommentDto;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
-
-import java.util.List;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 @RestController
 @RequestMapping(ApiPaths.V1)
+@Validated
 public class CommentController {
     private final CommentService commentService;
 
@@ -28,8 +36,31 @@ public class CommentController {
     }
 
     @GetMapping("/posts/{postId}/comments")
-    public ResponseEntity<ApiResponse<List<CommentDto>>> listByPost(@PathVariable Long postId) {
-        return ResponseEntity.ok(ApiResponse.success(commentService.listByPost(postId)));
+    public ResponseEntity<ApiResponse<CursorPageResponse<CommentDto>>> listByPost(
+            @PathVariable Long postId,
+            @RequestParam(defaultValue = "") String cursor,
+            @RequestParam(defaultValue = "20") @Min(1) @Max(100) int size,
+            WebRequest webRequest
+    ) {
+        ResourceVersion version = commentService.getListVersion(postId, cursor, size);
+        if (version != null && webRequest.checkNotModified(version.etag(), version.lastModifiedMillis())) {
+            return null;
+        }
+        return ResponseEntity.ok(ApiResponse.success(commentService.listByPost(postId, cursor, size)));
+    }
+
+    @GetMapping(path = "/posts/{postId}/comments/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(@PathVariable Long postId) {
+        return commentService.subscribe(postId);
+    }
+
+    @GetMapping("/comments/{commentId}/replies")
+    public ResponseEntity<ApiResponse<CursorPageResponse<CommentDto>>> listReplies(
+            @PathVariable Long commentId,
+            @RequestParam(defaultValue = "") String cursor,
+            @RequestParam(defaultValue = "20") @Min(1) @Max(100) int size
+    ) {
+        return ResponseEntity.ok(ApiResponse.success(commentService.listReplies(commentId, cursor, size)));
     }
 
     @PostMapping("/posts/{postId}/comments")
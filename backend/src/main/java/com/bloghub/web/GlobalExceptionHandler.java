@@ -4,17 +4,21 @@ import com.bloghub.exception.BadRequestException;
 import com.bloghub.exception.ConflictException;
 import com.bloghub.exception.ForbiddenException;
 import com.bloghub.exception.ResourceNotFoundException;
+import com.bloghub.exception.ServiceUnavailableException;
+import com.bloghub.exception.UnauthorizedException;
 import com.bloghub.web.dto.ErrorResponse;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.ConstraintViolationException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -50,6 +54,21 @@ public class GlobalExceptionHandler {
         return ResponseEntity.badRequest().body(body);
     }
 
+    @ExceptionHandler(MethodArgumentTypeMismatchException.class)
+    public ResponseEntity<ErrorResponse> handleTypeMismatch(
+            MethodArgumentTypeMismatchException ex,
+            HttpServletRequest request
+    ) {
+        ErrorResponse body = new ErrorResponse(
+                HttpStatus.BAD_REQUEST.value(),
+                HttpStatus.BAD_REQUEST.getReasonPhrase(),
+                "Invalid value for '" + ex.getName() + "'",
+                request.getRequestURI(),
+                null
+        );
+        return ResponseEntity.badRequest().body(body);
+    }
+
     @ExceptionHandler(ResourceNotFoundException.class)
     public ResponseEntity<ErrorResponse> handleNotFound(ResourceNotFoundException ex, HttpServletRequest request) {
         ErrorResponse body = new ErrorResponse(
@@ -62,13 +81,20 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(body);
     }
 
-    @ExceptionHandler({BadRequestException.class, ConflictException.class, ForbiddenException.class})
+    @ExceptionHandler({
+            BadRequestException.class,
+            ConflictException.class,
+            ForbiddenException.class,
+            UnauthorizedException.class
+    })
     public ResponseEntity<ErrorResponse> handleCustom(RuntimeException ex, HttpServletRequest request) {
         HttpStatus status;
         if (ex instanceof ConflictException) {
             status = HttpStatus.CONFLICT;
         } else if (ex instanceof ForbiddenException) {
             status = HttpStatus.FORBIDDEN;
+        } else if (ex instanceof UnauthorizedException) {
+            status = HttpStatus.UNAUTHORIZED;
         } else {
             status = HttpStatus.BAD_REQUEST;
         }
@@ -82,6 +108,21 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(status).body(body);
     }
 
+    @ExceptionHandler(ServiceUnavailableException.class)
+    public ResponseEntity<ErrorResponse> handleUnavailable(ServiceUnavailableException ex, HttpServletRequest request) {
+        ErrorResponse body = new ErrorResponse(
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                HttpStatus.SERVICE_UNAVAILABLE.getReasonPhrase(),
+                ex.getMessage(),
+                request.getRequestURI(),
+                null
+        );
+        long retryAfterSeconds = Math.max(1, ex.getRetryAfter().toSeconds());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                .body(body);
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ErrorResponse> handleOther(Exception ex, HttpServletRequest request) {
         log.error("Unhandled exception", ex);
@@ -3,14 +3,20 @@ package com.bloghub.web;
 import com.bloghub.security.BloghubUserPrincipal;
 import com.bloghub.security.CurrentUser;
 import com.bloghub.service.PostService;
+import com.bloghub.service.ResourceVersion;
 import com.bloghub.web.dto.ApiResponse;
+import com.bloghub.web.dto.CursorPageResponse;
 import com.bloghub.web.dto.PageResponse;
+import com.bloghub.web.dto.post.CommentCountsResponse;
+import com.bloghub.web.dto.post.PostBatchResponse;
 import com.bloghub.web.dto.post.PostCreateRequest;
 import com.bloghub.web.dto.post.PostDto;
+import com.bloghub.web.dto.post.PostSummaryDto;
 import com.bloghub.web.dto.post.PostUpdateRequest;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Size;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -22,6 +28,9 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.List;
 
 @RestController
 @RequestMapping(ApiPaths.V1 + "/posts")
@@ -44,8 +53,48 @@ public class PostController {
         return ResponseEntity.ok(ApiResponse.success(posts));
     }
 
+    @GetMapping(params = "ids")
+    public ResponseEntity<ApiResponse<PostBatchResponse>> getMany(
+            @RequestParam @Size(min = 1, max = 100) List<Long> ids
+    ) {
+        return ResponseEntity.ok(ApiResponse.success(postService.getMany(ids)));
+    }
+
+    @GetMapping("/comment-counts")
+    public ResponseEntity<ApiResponse<CommentCountsResponse>> getCommentCounts(
+            @RequestParam @Size(min = 1, max = 100) List<Long> ids
+    ) {
+        return ResponseEntity.ok(ApiResponse.success(postService.getCommentCounts(ids)));
+    }
+
+    @GetMapping(params = {"view=summary", "!ids"})
+    public ResponseEntity<ApiResponse<PageResponse<PostSummaryDto>>> listSummaries(
+            @RequestParam(required = false) Long categoryId,
+            @RequestParam(required = false) String keyword,
+            @RequestParam(defaultValue = "0") @Min(0) int page,
+            @RequestParam(defaultValue = "10") @Min(1) @Max(100) int size
+    ) {
+        PageResponse<PostSummaryDto> posts = postService.listSummaries(categoryId, keyword, page, size);
+        return ResponseEntity.ok(ApiResponse.success(posts));
+    }
+
+    @GetMapping(params = {"cursor", "view!=summary", "!ids"})
+    public ResponseEntity<ApiResponse<CursorPageResponse<PostDto>>> listByCursor(
+            @RequestParam(required = false) Long categoryId,
+            @RequestParam(required = false) String keyword,
+            @RequestParam(defaultValue = "") String cursor,
+            @RequestParam(defaultValue = "10") @Min(1) @Max(100) int size
+    ) {
+        CursorPageResponse<PostDto> posts = postService.listByCursor(categoryId, keyword, cursor, size);
+        return ResponseEntity.ok(ApiResponse.success(posts));
+    }
+
     @GetMapping("/{id}")
-    public ResponseEntity<ApiResponse<PostDto>> get(@PathVariable Long id) {
+    public ResponseEntity<ApiResponse<PostDto>> get(@PathVariable Long id, WebRequest webRequest) {
+        ResourceVersion version = postService.getVersion(id);
+        if (webRequest.checkNotModified(version.etag(), version.lastModifiedMillis())) {
+            return null;
+        }
         return ResponseEntity.ok(ApiResponse.success(postService.get(id)));
     }
 
@@ -0,0 +1,31 @@
+package com.bloghub.web.dto;
+
+import java.util.List;
+
+public class CursorPageResponse<T> {
+    private final List<T> content;
+    private final int size;
+    private final String nextCursor;
+
+    public CursorPageResponse(List<T> content, int size, String nextCursor) {
+        this.content = content;
+        this.size = size;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<T> getContent() {
+        return content;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public boolean isHasNext() {
+        return nextCursor != null;
+    }
+}
@@ -0,0 +1,25 @@
+package com.bloghub.web.dto.admin;
+
+public class CommentCountReconcileReport {
+    private final long postsScanned;
+    private final long postsRepaired;
+    private final int batches;
+
+    public CommentCountReconcileReport(long postsScanned, long postsRepaired, int batches) {
+        this.postsScanned = postsScanned;
+        this.postsRepaired = postsRepaired;
+        this.batches = batches;
+    }
+
+    public long getPostsScanned() {
+        return postsScanned;
+    }
+
+    public long getPostsRepaired() {
+        return postsRepaired;
+    }
+
+    public int getBatches() {
+        return batches;
+    }
+}
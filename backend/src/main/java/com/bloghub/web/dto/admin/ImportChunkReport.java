@@ -0,0 +1,59 @@
+package com.bloghub.web.dto.admin;
+
+import java.util.List;
+
+public class ImportChunkReport {
+    private final int chunk;
+    private final long firstLine;
+    private final long lastLine;
+    private final int postsImported;
+    private final int commentsImported;
+    private final int linesRejected;
+    private final List<ImportLineError> errors;
+
+    public ImportChunkReport(
+            int chunk,
+            long firstLine,
+            long lastLine,
+            int postsImported,
+            int commentsImported,
+            int linesRejected,
+            List<ImportLineError> errors
+    ) {
+        this.chunk = chunk;
+        this.firstLine = firstLine;
+        this.lastLine = lastLine;
+        this.postsImported = postsImported;
+        this.commentsImported = commentsImported;
+        this.linesRejected = linesRejected;
+        this.errors = errors;
+    }
+
+    public int getChunk() {
+        return chunk;
+    }
+
+    public long getFirstLine() {
+        return firstLine;
+    }
+
+    public long getLastLine() {
+        return lastLine;
+    }
+
+    public int getPostsImported() {
+        return postsImported;
+    }
+
+    public int getCommentsImported() {
+        return commentsImported;
+    }
+
+    public int getLinesRejected() {
+        return linesRejected;
+    }
+
+    public List<ImportLineError> getErrors() {
+        return errors;
+    }
+}
@@ -0,0 +1,19 @@
+package com.bloghub.web.dto.admin;
+
+public class ImportLineError {
+    private final long line;
+    private final String message;
+
+    public ImportLineError(long line, String message) {
+        this.line = line;
+        this.message = message;
+    }
+
+    public long getLine() {
+        return line;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+}
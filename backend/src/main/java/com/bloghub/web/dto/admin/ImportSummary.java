@@ -0,0 +1,42 @@
+package com.bloghub.web.dto.admin;
+
+public class ImportSummary {
+    private final boolean done = true;
+    private final long lines;
+    private final long postsImported;
+    private final long commentsImported;
+    private final long linesRejected;
+    private final int chunks;
+
+    public ImportSummary(long lines, long postsImported, long commentsImported, long linesRejected, int chunks) {
+        this.lines = lines;
+        this.postsImported = postsImported;
+        this.commentsImported = commentsImported;
+        this.linesRejected = linesRejected;
+        this.chunks = chunks;
+    }
+
+    public boolean isDone() {
+        return done;
+    }
+
+    public long getLines() {
+        return lines;
+    }
+
+    public long getPostsImported() {
+        return postsImported;
+    }
+
+    public long getCommentsImported() {
+        return commentsImported;
+    }
+
+    public long getLinesRejected() {
+        return linesRejected;
+    }
+
+    public int getChunks() {
+        return chunks;
+    }
+}
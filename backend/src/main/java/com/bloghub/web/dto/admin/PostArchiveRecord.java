@@ -0,0 +1,93 @@
+package com.bloghub.web.dto.admin;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One NDJSON line of the import/export format: a post with its comments. Category is referenced by slug and
+ * users by email, so archives move between databases with different ids.
+ */
+public class PostArchiveRecord {
+    private Long id;
+    private String title;
+    private String content;
+    private String imageUrl;
+    private String category;
+    private String authorEmail;
+    private Instant createdAt;
+    private Instant updatedAt;
+    private List<CommentArchiveRecord> comments = new ArrayList<>();
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public String getContent() {
+        return content;
+    }
+
+    public void setContent(String content) {
+        this.content = content;
+    }
+
+    public String getImageUrl() {
+        return imageUrl;
+    }
+
+    public void setImageUrl(String imageUrl) {
+        this.imageUrl = imageUrl;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public void setCategory(String category) {
+        this.category = category;
+    }
+
+    public String getAuthorEmail() {
+        return authorEmail;
+    }
+
+    public void setAuthorEmail(String authorEmail) {
+        this.authorEmail = authorEmail;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(Instant createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(Instant updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    public List<CommentArchiveRecord> getComments() {
+        return comments;
+    }
+
+    public void setComments(List<CommentArchiveRecord> comments) {
+        this.comments = comments;
+    }
+}
@@ -5,6 +5,7 @@ import com.bloghub.web.dto.UserDto;
 public class AuthResponse {
     private String accessToken;
     private String tokenType = "Bearer";
+    private String refreshToken;
     private UserDto user;
 
     public String getAccessToken() {
@@ -23,6 +24,14 @@ public class AuthResponse {
         this.tokenType = tokenType;
     }
 
+    public String getRefreshToken() {
+        return refreshToken;
+    }
+
+    public void setRefreshToken(String refreshToken) {
+        this.refreshToken = refreshToken;
+    }
+
     public UserDto getUser() {
         return user;
     }
@@ -0,0 +1,17 @@
+package com.bloghub.web.dto.auth;
+
+import jakarta.validation.constraints.Size;
+
+public class LogoutRequest {
+    // Optional: also revoke the refresh token (and everything rotated from the same login).
+    @Size(max = 200)
+    private String refreshToken;
+
+    public String getRefreshToken() {
+        return refreshToken;
+    }
+
+    public void setRefreshToken(String refreshToken) {
+        this.refreshToken = refreshToken;
+    }
+}
@@ -6,6 +6,9 @@ public class CommentCreateRequest {
     @NotBlank
     private String content;
 
+    // Optional: the comment being replied to, on the same post.
+    private Long parentId;
+
     public String getContent() {
         return content;
     }
@@ -13,5 +16,13 @@ public class CommentCreateRequest {
     public void setContent(String content) {
         this.content = content;
     }
+
+    public Long getParentId() {
+        return parentId;
+    }
+
+    public void setParentId(Long parentId) {
+        this.parentId = parentId;
+    }
 }
 
@@ -7,6 +7,9 @@ public class CommentDto {
     private String content;
     private Long authorId;
     private String authorName;
+    private Long parentId;
+    private int depth;
+    private long replyCount;
     private Instant createdAt;
 
     public Long getId() {
@@ -41,6 +44,30 @@ public class CommentDto {
         this.authorName = authorName;
     }
 
+    public Long getParentId() {
+        return parentId;
+    }
+
+    public void setParentId(Long parentId) {
+        this.parentId = parentId;
+    }
+
+    public int getDepth() {
+        return depth;
+    }
+
+    public void setDepth(int depth) {
+        this.depth = depth;
+    }
+
+    public long getReplyCount() {
+        return replyCount;
+    }
+
+    public void setReplyCount(long replyCount) {
+        this.replyCount = replyCount;
+    }
+
     public Instant getCreatedAt() {
         return createdAt;
     }
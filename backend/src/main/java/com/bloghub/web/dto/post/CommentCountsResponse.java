@@ -0,0 +1,26 @@
+package com.bloghub.web.dto.post;
+
+import java.util.List;
+import java.util.Map;
+
+public class CommentCountsResponse {
+    // Post id -> comment count, in request order.
+    private Map<Long, Long> counts;
+    private List<Long> missingIds;
+
+    public Map<Long, Long> getCounts() {
+        return counts;
+    }
+
+    public void setCounts(Map<Long, Long> counts) {
+        this.counts = counts;
+    }
+
+    public List<Long> getMissingIds() {
+        return missingIds;
+    }
+
+    public void setMissingIds(List<Long> missingIds) {
+        this.missingIds = missingIds;
+    }
+}
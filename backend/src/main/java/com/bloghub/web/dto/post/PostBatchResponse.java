@@ -0,0 +1,24 @@
+package com.bloghub.web.dto.post;
+
+import java.util.List;
+
+public class PostBatchResponse {
+    private List<PostDto> posts;
+    private List<Long> missingIds;
+
+    public List<PostDto> getPosts() {
+        return posts;
+    }
+
+    public void setPosts(List<PostDto> posts) {
+        this.posts = posts;
+    }
+
+    public List<Long> getMissingIds() {
+        return missingIds;
+    }
+
+    public void setMissingIds(List<Long> missingIds) {
+        this.missingIds = missingIds;
+    }
+}
@@ -0,0 +1,180 @@
+package com.bloghub.config;
+
+import com.bloghub.domain.Category;
+import com.bloghub.domain.Post;
+import com.bloghub.domain.Role;
+import com.bloghub.domain.RoleName;
+import com.bloghub.domain.User;
+import com.bloghub.repository.CategoryRepository;
+import com.bloghub.repository.CommentRepository;
+import com.bloghub.repository.PostRepository;
+import com.bloghub.repository.RoleRepository;
+import com.bloghub.repository.UserRepository;
+import com.bloghub.security.BloghubUserDetailsService;
+import com.bloghub.service.CommentIngestionBuffer;
+import com.bloghub.service.CommentService;
+import com.bloghub.service.CommentStreamHub;
+import com.bloghub.service.PostCache;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Routing against a replica that is known to be stale: it holds a snapshot taken before each test writes its rows,
+ * so a read that reached it cannot see them while one on the primary can.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:routing-primary;DB_CLOSE_DELAY=-1",
+        "spring.datasource.username=sa",
+        "bloghub.datasource.replicas.enabled=true",
+        "bloghub.datasource.replicas.nodes[0].name=stale",
+        "bloghub.datasource.replicas.nodes[0].url=" + ReplicaRoutingTest.REPLICA_URL
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({
+        JpaAuditingConfig.class,
+        ConfigBootstrap.class,
+        ReplicaRoutingConfig.class,
+        BloghubUserDetailsService.class,
+        ReplicaRoutingTest.Metrics.class
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ReplicaRoutingTest {
+    static final String REPLICA_URL = "jdbc:h2:mem:routing-replica;DB_CLOSE_DELAY=-1";
+
+    @Autowired
+    private HikariDataSource primaryDataSource;
+
+    @Autowired
+    private CommentRepository comments;
+
+    @Autowired
+    private PostRepository posts;
+
+    @Autowired
+    private CategoryRepository categories;
+
+    @Autowired
+    private UserRepository users;
+
+    @Autowired
+    private RoleRepository roles;
+
+    @Autowired
+    private BloghubUserDetailsService userDetailsService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Long postId;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        comments.deleteAllInBatch();
+        posts.deleteAllInBatch();
+        categories.deleteAllInBatch();
+        users.deleteAllInBatch();
+        roles.deleteAllInBatch();
+        EmbeddedReplicaSnapshot.copy(primaryDataSource, REPLICA_URL, "sa", "");
+
+        Role role = new Role();
+        role.setName(RoleName.ROLE_USER);
+        role = roles.save(role);
+        User author = new User();
+        author.setEmail("late@example.com");
+        author.setPasswordHash("hash");
+        author.setDisplayName("Late");
+        author.setRole(role);
+        author = users.save(author);
+        Category category = new Category();
+        category.setName("General");
+        category.setSlug("general");
+        category = categories.save(category);
+        Post post = new Post();
+        post.setTitle("Written after the snapshot");
+        post.setContent("Content");
+        post.setExcerpt("Content");
+        post.setAuthor(author);
+        post.setCategory(category);
+        postId = posts.save(post).getId();
+    }
+
+    @Test
+    void readOnlyTransactionsReadTheReplica() {
+        double before = replicaReads();
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        Boolean exists = readOnly.execute(status -> posts.existsById(postId));
+
+        assertThat(exists).isFalse();
+        assertThat(replicaReads()).isEqualTo(before + 1);
+    }
+
+    @Test
+    void readWriteTransactionsUseThePrimary() {
+        double before = replicaReads();
+
+        Boolean exists = new TransactionTemplate(transactionManager).execute(status -> posts.existsById(postId));
+
+        assertThat(exists).isTrue();
+        assertThat(replicaReads()).isEqualTo(before);
+    }
+
+    @Test
+    void subscribeFindsAPostTheReplicaHasNotSeen() {
+        CommentStreamHub streamHub = mock(CommentStreamHub.class);
+        @SuppressWarnings("unchecked")
+        CommentService commentService = new CommentService(
+                comments,
+                posts,
+                users,
+                mock(PostCache.class),
+                streamHub,
+                mock(ObjectProvider.class),
+                transactionManager
+        );
+
+        commentService.subscribe(postId);
+
+        verify(streamHub).subscribe(postId);
+    }
+
+    @Test
+    void loginLooksUpUsersOnThePrimary() {
+        assertThat(userDetailsService.loadUserByUsername("late@example.com").getUsername())
+                .isEqualTo("late@example.com");
+    }
+
+    private double replicaReads() {
+        return meterRegistry.counter("bloghub.datasource.reads", "target", "replica-stale").count();
+    }
+
+    @TestConfiguration
+    static class Metrics {
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package com.bloghub.repository;
+
+import com.bloghub.config.JpaAuditingConfig;
+import com.bloghub.domain.Category;
+import com.bloghub.domain.Comment;
+import com.bloghub.domain.Post;
+import com.bloghub.domain.Role;
+import com.bloghub.domain.RoleName;
+import com.bloghub.domain.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Round trips for a bulk comment insert. Ids come from a pooled sequence (allocation 50) and inserts are JDBC-batched
+ * (batch_size 50), so 100k comments cost 2,000 batch executions plus one sequence call per 50 ids, where IDENTITY
+ * needed one INSERT round trip per row.
+ */
+@DataJpaTest
+@Import({JpaAuditingConfig.class, CommentBatchInsertTest.CountingDataSource.class})
+class CommentBatchInsertTest {
+    private static final int COMMENTS = 100_000;
+    private static final int FLUSH_EVERY = 1_000;
+    private static final int BATCH_SIZE = 50;
+
+    @Autowired
+    private TestEntityManager em;
+
+    @Test
+    void insertsHundredThousandCommentsInBatches() {
+        Role role = new Role();
+        role.setName(RoleName.ROLE_USER);
+        em.persist(role);
+        User author = new User();
+        author.setEmail("bulk@example.com");
+        author.setPasswordHash("hash");
+        author.setDisplayName("Bulk");
+        author.setRole(role);
+        Long authorId = em.persist(author).getId();
+        Category category = new Category();
+        category.setName("General");
+        category.setSlug("general");
+        em.persist(category);
+        Post post = new Post();
+        post.setTitle("Bulk");
+        post.setContent("Content");
+        post.setExcerpt("Content");
+        post.setAuthor(author);
+        post.setCategory(category);
+        Long postId = em.persist(post).getId();
+        em.flush();
+        em.clear();
+        CountingDataSource.reset();
+
+        for (int i = 0; i < COMMENTS; i++) {
+            if (i % FLUSH_EVERY == 0 && i > 0) {
+                em.flush();
+                em.clear();
+            }
+            Comment comment = new Comment();
+            comment.setContent("comment " + i);
+            comment.setPost(em.getEntityManager().getReference(Post.class, postId));
+            comment.setAuthor(em.getEntityManager().getReference(User.class, authorId));
+            em.persist(comment);
+        }
+        em.flush();
+
+        assertThat(CountingDataSource.insertBatches.get()).isEqualTo(COMMENTS / BATCH_SIZE);
+        assertThat(CountingDataSource.batchedRows.get()).isEqualTo(COMMENTS);
+        assertThat(CountingDataSource.singleInserts.get()).isZero();
+        // The pooled optimizer fetches a block of 50 ids per call; the first call may fetch one extra block.
+        assertThat(CountingDataSource.sequenceCalls.get()).isBetween(COMMENTS / BATCH_SIZE, COMMENTS / BATCH_SIZE + 1);
+    }
+
+    /** Wraps the test DataSource to count executions of comment inserts and sequence calls. */
+    @TestConfiguration
+    static class CountingDataSource {
+        static final AtomicInteger insertBatches = new AtomicInteger();
+        static final AtomicInteger batchedRows = new AtomicInteger();
+        static final AtomicInteger singleInserts = new AtomicInteger();
+        static final AtomicInteger sequenceCalls = new AtomicInteger();
+
+        static void reset() {
+            insertBatches.set(0);
+            batchedRows.set(0);
+            singleInserts.set(0);
+            sequenceCalls.set(0);
+        }
+
+        @Bean
+        static BeanPostProcessor countingDataSourcePostProcessor() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource dataSource
+                            ? proxy(DataSource.class, dataSource, (target, method, args) -> {
+                                Object result = method.invoke(target, args);
+                                return result instanceof Connection connection ? wrap(connection) : result;
+                            })
+                            : bean;
+                }
+            };
+        }
+
+        private static Connection wrap(Connection connection) {
+            return proxy(Connection.class, connection, (target, method, args) -> {
+                Object result = method.invoke(target, args);
+                if (result instanceof PreparedStatement statement && args != null && args[0] instanceof String sql) {
+                    return wrap(statement, sql.toLowerCase(Locale.ROOT));
+                }
+                return result;
+            });
+        }
+
+        private static PreparedStatement wrap(PreparedStatement statement, String sql) {
+            boolean commentInsert = sql.startsWith("insert into comments");
+            boolean sequence = sql.contains("comments_seq");
+            return proxy(PreparedStatement.class, statement, (target, method, args) -> {
+                switch (method.getName()) {
+                    case "addBatch" -> {
+                        if (commentInsert) {
+                            batchedRows.incrementAndGet();
+                        }
+                    }
+                    case "executeBatch" -> {
+                        if (commentInsert) {
+                            insertBatches.incrementAndGet();
+                        }
+                    }
+                    case "executeUpdate", "execute" -> {
+                        if (commentInsert) {
+                            singleInserts.incrementAndGet();
+                        }
+                    }
+                    case "executeQuery" -> {
+                        if (sequence) {
+                            sequenceCalls.incrementAndGet();
+                        }
+                    }
+                    default -> {
+                    }
+                }
+                return method.invoke(target, args);
+            });
+        }
+
+        private interface Call {
+            Object invoke(Object target, java.lang.reflect.Method method, Object[] args) throws Throwable;
+        }
+
+        @SuppressWarnings("unchecked")
+        private static <T> T proxy(Class<T> type, T target, Call call) {
+            InvocationHandler handler = (proxy, method, args) -> {
+                try {
+                    return call.invoke(target, method, args);
+                } catch (InvocationTargetException ex) {
+                    throw ex.getCause();
+                }
+            };
+            return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, handler);
+        }
+    }
+}
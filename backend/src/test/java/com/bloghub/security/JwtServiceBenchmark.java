@@ -0,0 +1,77 @@
+package com.bloghub.security;
+
+import com.bloghub.config.BloghubProperties;
+import com.bloghub.domain.RoleName;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of authenticating one request from its bearer token:
+ * <ul>
+ *   <li>{@code parserPerRequest}: builds a parser and verifies the signature every time (the code before caching);
+ *   <li>{@code sharedParser}: verifies with the one parser {@link JwtService} keeps, i.e. a verification cache miss;
+ *   <li>{@code cachedVerify}: {@link JwtService#verify} for a token seen before, i.e. digest plus cache lookup.
+ * </ul>
+ * {@code mvn -Pjmh test-compile exec:exec -Djmh.args="JwtServiceBenchmark -prof gc"}; add {@code -t 8} to see
+ * contention on the cache.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtServiceBenchmark {
+    private static final String SECRET = "benchmark-secret-benchmark-secret-benchmark-secret-benchmark-key";
+
+    private SecretKey key;
+    private JwtService jwtService;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        BloghubProperties props = new BloghubProperties(
+                null,
+                new BloghubProperties.Security(
+                        new BloghubProperties.Security.Jwt(SECRET, 60, false, Duration.ofSeconds(30)),
+                        null, null, null),
+                null, null, null, null);
+        key = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+        jwtService = new JwtService(props, new SimpleMeterRegistry());
+        token = jwtService.generateToken(
+                new BloghubUserPrincipal(42L, "jane@example.com", null, RoleName.ROLE_USER, 3));
+        jwtService.verify(token);
+    }
+
+    @Benchmark
+    public Claims parserPerRequest() {
+        return Jwts.parser().verifyWith(key).build().parseSignedClaims(token).getPayload();
+    }
+
+    @Benchmark
+    public Claims sharedParser() {
+        return jwtService.parseClaims(token);
+    }
+
+    @Benchmark
+    public JwtService.VerifiedToken cachedVerify() {
+        return jwtService.verify(token);
+    }
+}
@@ -0,0 +1,93 @@
+package com.bloghub.security;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link TokenBucketTable} (packed longs, CAS only) against the usual {@code ConcurrentHashMap} of bucket objects
+ * with a synchronized refill, both under 64 threads. {@code keys} sets the contention: 1 is every request from one
+ * client, 64 about one client per thread, 10000 many clients spread over the table.
+ * {@code mvn -Pjmh test-compile exec:exec -Djmh.args="TokenBucketTableBenchmark -prof gc"}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(64)
+@State(Scope.Benchmark)
+public class TokenBucketTableBenchmark {
+    private static final long CAPACITY = 120;
+    private static final long PERIOD_MILLIS = 60_000;
+
+    @Param({"1", "64", "10000"})
+    public int keys;
+
+    private TokenBucketTable table;
+    private ConcurrentHashMap<Long, LockedBucket> map;
+
+    @Setup
+    public void setUp() {
+        table = new TokenBucketTable(65536);
+        map = new ConcurrentHashMap<>();
+    }
+
+    @Benchmark
+    public TokenBucketTable.Decision casTable() {
+        return table.tryAcquire(nextKey(), CAPACITY, PERIOD_MILLIS);
+    }
+
+    @Benchmark
+    public TokenBucketTable.Decision concurrentHashMap() {
+        return map.computeIfAbsent(nextKey(), key -> new LockedBucket()).tryAcquire(CAPACITY, PERIOD_MILLIS);
+    }
+
+    private long nextKey() {
+        return ThreadLocalRandom.current().nextInt(keys) + 1L;
+    }
+
+    /** Same refill arithmetic as the table, guarded by the bucket's monitor. */
+    private static final class LockedBucket {
+        private long tokens = -1;
+        private long lastRefill;
+
+        synchronized TokenBucketTable.Decision tryAcquire(long capacity, long periodMillis) {
+            long now = System.currentTimeMillis();
+            long full = capacity * 1000;
+            if (tokens < 0) {
+                tokens = full;
+                lastRefill = now;
+            } else {
+                long refill = Math.max(0, now - lastRefill) * full / periodMillis;
+                if (tokens + refill >= full) {
+                    tokens = full;
+                    lastRefill = now;
+                } else {
+                    tokens += refill;
+                    lastRefill += refill * periodMillis / full;
+                }
+            }
+            boolean allowed = tokens >= 1000;
+            if (allowed) {
+                tokens -= 1000;
+            }
+            long resetMillis = (full - tokens) * periodMillis / full;
+            long retryMillis = allowed ? 0 : (1000 - tokens) * periodMillis / full;
+            return new TokenBucketTable.Decision(allowed, capacity, tokens / 1000, resetMillis, retryMillis);
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.bloghub.service;
+
+import com.bloghub.config.JpaAuditingConfig;
+import com.bloghub.domain.Category;
+import com.bloghub.domain.Post;
+import com.bloghub.domain.Role;
+import com.bloghub.domain.RoleName;
+import com.bloghub.domain.User;
+import com.bloghub.repository.CommentRepository;
+import com.bloghub.repository.PostRepository;
+import com.bloghub.repository.UserRepository;
+import com.bloghub.security.BloghubUserPrincipal;
+import com.bloghub.web.dto.comment.CommentCreateRequest;
+import com.bloghub.web.dto.comment.CommentDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * {@code posts.comments_count} and {@code comments.child_count} must follow every add and delete, including deletes
+ * that take a whole reply subtree with them through the cascading foreign key.
+ */
+@DataJpaTest
+@Import(JpaAuditingConfig.class)
+class CommentCounterTest {
+    @Autowired
+    private TestEntityManager em;
+
+    @Autowired
+    private CommentRepository comments;
+
+    @Autowired
+    private PostRepository posts;
+
+    @Autowired
+    private UserRepository users;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private CommentService commentService;
+    private BloghubUserPrincipal writer;
+    private Long postId;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        commentService = new CommentService(
+                comments,
+                posts,
+                users,
+                mock(PostCache.class),
+                mock(CommentStreamHub.class),
+                mock(ObjectProvider.class),
+                transactionManager
+        );
+
+        Role role = new Role();
+        role.setName(RoleName.ROLE_USER);
+        em.persist(role);
+        User author = new User();
+        author.setEmail("writer@example.com");
+        author.setPasswordHash("hash");
+        author.setDisplayName("Writer");
+        author.setRole(role);
+        em.persist(author);
+        Category category = new Category();
+        category.setName("General");
+        category.setSlug("general");
+        em.persist(category);
+        Post post = new Post();
+        post.setTitle("Post");
+        post.setContent("Content");
+        post.setExcerpt("Content");
+        post.setAuthor(author);
+        post.setCategory(category);
+        postId = em.persist(post).getId();
+        em.flush();
+        writer = new BloghubUserPrincipal(author.getId(), author.getEmail(), null, RoleName.ROLE_USER, 0);
+    }
+
+    @Test
+    void addingCommentsAndRepliesCountsEveryOne() {
+        CommentDto top = add("top", null);
+        CommentDto reply = add("reply", top.getId());
+        add("nested", reply.getId());
+        add("second reply", top.getId());
+
+        assertThat(commentsCount()).isEqualTo(4);
+        assertThat(childCount(top.getId())).isEqualTo(2);
+        assertThat(childCount(reply.getId())).isEqualTo(1);
+    }
+
+    @Test
+    void deletingALeafDecrementsThePostAndItsParent() {
+        CommentDto top = add("top", null);
+        CommentDto reply = add("reply", top.getId());
+
+        commentService.deleteComment(reply.getId(), writer);
+
+        assertThat(commentsCount()).isEqualTo(1);
+        assertThat(childCount(top.getId())).isZero();
+    }
+
+    @Test
+    void deletingATopLevelCommentRemovesItsWholeSubtreeFromTheCount() {
+        CommentDto top = add("top", null);
+        CommentDto reply = add("reply", top.getId());
+        add("nested", reply.getId());
+        add("second reply", top.getId());
+        add("other thread", null);
+
+        commentService.deleteComment(top.getId(), writer);
+
+        assertThat(commentsCount()).isEqualTo(1);
+        assertThat(comments.count()).isEqualTo(1);
+    }
+
+    @Test
+    void deletingAReplyRemovesItsSubtreeButKeepsSiblings() {
+        CommentDto top = add("top", null);
+        CommentDto reply = add("reply", top.getId());
+        add("nested", reply.getId());
+        add("deeper", add("nested 2", reply.getId()).getId());
+        add("sibling", top.getId());
+
+        commentService.deleteComment(reply.getId(), writer);
+
+        assertThat(commentsCount()).isEqualTo(2);
+        assertThat(comments.count()).isEqualTo(2);
+        assertThat(childCount(top.getId())).isEqualTo(1);
+    }
+
+    private CommentDto add(String content, Long parentId) {
+        CommentCreateRequest request = new CommentCreateRequest();
+        request.setContent(content);
+        request.setParentId(parentId);
+        CommentDto added = commentService.addComment(postId, request, writer);
+        em.flush();
+        em.clear();
+        return added;
+    }
+
+    // Counters are changed by bulk updates, which bypass the persistence context.
+    private long commentsCount() {
+        em.flush();
+        em.clear();
+        return posts.findById(postId).orElseThrow().getCommentsCount();
+    }
+
+    private long childCount(Long commentId) {
+        em.flush();
+        em.clear();
+        return comments.findById(commentId).orElseThrow().getChildCount();
+    }
+}
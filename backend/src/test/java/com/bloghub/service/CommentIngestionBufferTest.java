@@ -0,0 +1,147 @@
+package com.bloghub.service;
+
+import com.bloghub.config.BloghubProperties;
+import com.bloghub.config.JpaAuditingConfig;
+import com.bloghub.domain.Category;
+import com.bloghub.domain.Post;
+import com.bloghub.domain.Role;
+import com.bloghub.domain.RoleName;
+import com.bloghub.domain.User;
+import com.bloghub.exception.ResourceNotFoundException;
+import com.bloghub.repository.CategoryRepository;
+import com.bloghub.repository.CommentRepository;
+import com.bloghub.repository.PostRepository;
+import com.bloghub.repository.RoleRepository;
+import com.bloghub.repository.UserRepository;
+import com.bloghub.web.dto.comment.CommentDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Group commit against a real database: the writer thread commits on its own, so the test runs outside a transaction
+ * and cleans up after itself.
+ */
+@DataJpaTest
+@Import(JpaAuditingConfig.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class CommentIngestionBufferTest {
+    private static final long MISSING_POST = 999_999L;
+
+    @Autowired
+    private PostRepository posts;
+
+    @Autowired
+    private CommentRepository comments;
+
+    @Autowired
+    private UserRepository users;
+
+    @Autowired
+    private RoleRepository roles;
+
+    @Autowired
+    private CategoryRepository categories;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private CommentIngestionBuffer buffer;
+    private Long postId;
+    private Long authorId;
+
+    @BeforeEach
+    void setUp() {
+        Role role = new Role();
+        role.setName(RoleName.ROLE_USER);
+        role = roles.save(role);
+        User author = new User();
+        author.setEmail("writer@example.com");
+        author.setPasswordHash("hash");
+        author.setDisplayName("Writer");
+        author.setRole(role);
+        authorId = users.save(author).getId();
+        Category category = new Category();
+        category.setName("General");
+        category.setSlug("general");
+        category = categories.save(category);
+        Post post = new Post();
+        post.setTitle("Live event");
+        post.setContent("Content");
+        post.setExcerpt("Content");
+        post.setAuthor(author);
+        post.setCategory(category);
+        postId = posts.save(post).getId();
+
+        BloghubProperties props = new BloghubProperties(null, null, null, null, null, new BloghubProperties.Comments(
+                new BloghubProperties.Comments.Ingestion(
+                        true, 100, 50, Duration.ofMillis(50), Duration.ofSeconds(5), Duration.ofSeconds(1)),
+                null));
+        buffer = new CommentIngestionBuffer(
+                comments, posts, users, mock(PostCache.class), transactionManager, props, new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        buffer.destroy();
+        comments.deleteAllInBatch();
+        posts.deleteAllInBatch();
+        categories.deleteAllInBatch();
+        users.deleteAllInBatch();
+        roles.deleteAllInBatch();
+    }
+
+    @Test
+    void commitsConcurrentCommentsAndCountsThem() throws Exception {
+        ExecutorService requests = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<CommentDto>> results = new ArrayList<>();
+            for (int i = 0; i < 20; i++) {
+                String content = "comment " + i;
+                results.add(requests.submit(() -> buffer.add(postId, authorId, content)));
+            }
+            for (Future<CommentDto> result : results) {
+                assertThat(result.get().getId()).isNotNull();
+            }
+        } finally {
+            requests.shutdown();
+        }
+
+        assertThat(comments.count()).isEqualTo(20);
+        assertThat(posts.findById(postId).orElseThrow().getCommentsCount()).isEqualTo(20);
+    }
+
+    @Test
+    void missingPostFailsOnlyItsOwnComment() throws Exception {
+        ExecutorService requests = Executors.newFixedThreadPool(2);
+        try {
+            Future<CommentDto> missing = requests.submit(() -> buffer.add(MISSING_POST, authorId, "lost"));
+            Future<CommentDto> kept = requests.submit(() -> buffer.add(postId, authorId, "kept"));
+
+            assertThat(kept.get().getContent()).isEqualTo("kept");
+            assertThatThrownBy(missing::get).hasCauseInstanceOf(ResourceNotFoundException.class);
+        } finally {
+            requests.shutdown();
+        }
+
+        assertThat(posts.findById(postId).orElseThrow().getCommentsCount()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,162 @@
+package com.bloghub.service;
+
+import com.bloghub.config.JpaAuditingConfig;
+import com.bloghub.domain.Category;
+import com.bloghub.domain.Comment;
+import com.bloghub.domain.Post;
+import com.bloghub.domain.Role;
+import com.bloghub.domain.RoleName;
+import com.bloghub.domain.User;
+import com.bloghub.exception.BadRequestException;
+import com.bloghub.repository.CommentRepository;
+import com.bloghub.repository.PostRepository;
+import com.bloghub.repository.UserRepository;
+import com.bloghub.web.dto.CursorPageResponse;
+import com.bloghub.web.dto.comment.CommentDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Keyset paging of a post's top-level comments: following {@code nextCursor} visits every comment once, in
+ * (createdAt, id) order, even when many share a timestamp; malformed cursors are a 400, not a 500.
+ */
+@DataJpaTest
+@Import(JpaAuditingConfig.class)
+class CommentListingTest {
+    private static final int COMMENTS = 25;
+
+    @Autowired
+    private TestEntityManager em;
+
+    @Autowired
+    private CommentRepository comments;
+
+    @Autowired
+    private PostRepository posts;
+
+    @Autowired
+    private UserRepository users;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private CommentService commentService;
+    private Long postId;
+    private final List<Long> topLevelIds = new ArrayList<>();
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        commentService = new CommentService(
+                comments,
+                posts,
+                users,
+                mock(PostCache.class),
+                mock(CommentStreamHub.class),
+                mock(ObjectProvider.class),
+                transactionManager
+        );
+
+        Role role = new Role();
+        role.setName(RoleName.ROLE_USER);
+        em.persist(role);
+        User author = new User();
+        author.setEmail("writer@example.com");
+        author.setPasswordHash("hash");
+        author.setDisplayName("Writer");
+        author.setRole(role);
+        em.persist(author);
+        Category category = new Category();
+        category.setName("General");
+        category.setSlug("general");
+        em.persist(category);
+        Post post = new Post();
+        post.setTitle("Post");
+        post.setContent("Content");
+        post.setExcerpt("Content");
+        post.setAuthor(author);
+        post.setCategory(category);
+        postId = em.persist(post).getId();
+        for (int i = 0; i < COMMENTS; i++) {
+            Comment comment = new Comment();
+            comment.setPost(post);
+            comment.setAuthor(author);
+            comment.setContent("comment " + i);
+            topLevelIds.add(em.persist(comment).getId());
+        }
+        Comment reply = new Comment();
+        reply.setPost(post);
+        reply.setAuthor(author);
+        reply.setContent("reply");
+        em.persist(reply);
+        reply.placeUnder(em.find(Comment.class, topLevelIds.get(0)));
+        em.flush();
+        // Every comment shares one timestamp, so page boundaries depend on the id tie-breaker alone.
+        em.getEntityManager().createQuery("update Comment c set c.createdAt = :createdAt")
+                .setParameter("createdAt", Instant.parse("2024-01-01T00:00:00Z"))
+                .executeUpdate();
+        em.clear();
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 7, 10, 25, 30})
+    void followingTheCursorVisitsEveryTopLevelCommentOnce(int size) {
+        List<Long> seen = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            CursorPageResponse<CommentDto> page = commentService.listByPost(postId, cursor, size);
+            assertThat(page.getContent()).hasSizeLessThanOrEqualTo(size);
+            page.getContent().forEach(dto -> seen.add(dto.getId()));
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertThat(seen).containsExactlyElementsOf(topLevelIds);
+        assertThat(pages).isEqualTo((COMMENTS + size - 1) / size);
+    }
+
+    @Test
+    void lastPageHasNoCursor() {
+        CursorPageResponse<CommentDto> page = commentService.listByPost(postId, null, COMMENTS);
+
+        assertThat(page.getContent()).hasSize(COMMENTS);
+        assertThat(page.isHasNext()).isFalse();
+        assertThat(page.getNextCursor()).isNull();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"not a cursor", "%%%", "MTIz", "YTpiOmM", "MTox"})
+    void malformedCursorsAreRejected(String cursor) {
+        assertThatThrownBy(() -> commentService.listByPost(postId, cursor, 10))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessage("Invalid cursor");
+    }
+
+    @Test
+    void cursorWithAnOutOfRangeTimestampIsRejected() {
+        String cursor = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((Long.MAX_VALUE + ":0:1").getBytes(StandardCharsets.US_ASCII));
+
+        assertThatThrownBy(() -> commentService.listByPost(postId, cursor, 10))
+                .isInstanceOf(BadRequestException.class);
+    }
+}
@@ -0,0 +1,210 @@
+package com.bloghub.service;
+
+import com.bloghub.config.JpaAuditingConfig;
+import com.bloghub.domain.Category;
+import com.bloghub.domain.Comment;
+import com.bloghub.domain.Post;
+import com.bloghub.domain.Role;
+import com.bloghub.domain.RoleName;
+import com.bloghub.domain.User;
+import com.bloghub.exception.BadRequestException;
+import com.bloghub.repository.CommentRepository;
+import com.bloghub.repository.PostRepository;
+import com.bloghub.repository.UserRepository;
+import com.bloghub.security.BloghubUserPrincipal;
+import com.bloghub.util.CommentPaths;
+import com.bloghub.web.dto.CursorPageResponse;
+import com.bloghub.web.dto.comment.CommentCreateRequest;
+import com.bloghub.web.dto.comment.CommentDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Replies carry a materialized path under their thread's root; {@code listReplies} is one range scan over
+ * {@code (path, subtreeEnd(path))} and must not leak into the next sibling's subtree or another thread.
+ */
+@DataJpaTest
+@Import(JpaAuditingConfig.class)
+class CommentRepliesTest {
+    @Autowired
+    private TestEntityManager em;
+
+    @Autowired
+    private CommentRepository comments;
+
+    @Autowired
+    private PostRepository posts;
+
+    @Autowired
+    private UserRepository users;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private CommentService commentService;
+    private BloghubUserPrincipal writer;
+    private Long postId;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        commentService = new CommentService(
+                comments,
+                posts,
+                users,
+                mock(PostCache.class),
+                mock(CommentStreamHub.class),
+                mock(ObjectProvider.class),
+                transactionManager
+        );
+
+        Role role = new Role();
+        role.setName(RoleName.ROLE_USER);
+        em.persist(role);
+        User author = new User();
+        author.setEmail("writer@example.com");
+        author.setPasswordHash("hash");
+        author.setDisplayName("Writer");
+        author.setRole(role);
+        em.persist(author);
+        Category category = new Category();
+        category.setName("General");
+        category.setSlug("general");
+        em.persist(category);
+        Post post = new Post();
+        post.setTitle("Post");
+        post.setContent("Content");
+        post.setExcerpt("Content");
+        post.setAuthor(author);
+        post.setCategory(category);
+        postId = em.persist(post).getId();
+        em.flush();
+        writer = new BloghubUserPrincipal(author.getId(), author.getEmail(), null, RoleName.ROLE_USER, 0);
+    }
+
+    @Test
+    void replyPathsExtendTheParentPath() {
+        CommentDto top = add(null);
+        CommentDto reply = add(top.getId());
+        CommentDto nested = add(reply.getId());
+
+        Comment replyRow = load(reply.getId());
+        Comment nestedRow = load(nested.getId());
+        assertThat(load(top.getId()).getPath()).isNull();
+        assertThat(replyRow.getPath()).isEqualTo(CommentPaths.child(null, reply.getId()));
+        assertThat(nestedRow.getPath()).isEqualTo(CommentPaths.child(replyRow.getPath(), nested.getId()));
+        assertThat(nestedRow.getRootId()).isEqualTo(top.getId());
+        assertThat(nested.getDepth()).isEqualTo(2);
+        assertThat(nested.getParentId()).isEqualTo(reply.getId());
+    }
+
+    @Test
+    void nestingStopsAtMaxDepth() {
+        CommentDto deepest = add(null);
+        for (int depth = 1; depth <= CommentPaths.MAX_DEPTH; depth++) {
+            deepest = add(deepest.getId());
+            assertThat(deepest.getDepth()).isEqualTo(depth);
+        }
+        Long parentId = deepest.getId();
+
+        assertThatThrownBy(() -> add(parentId))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessageContaining(String.valueOf(CommentPaths.MAX_DEPTH));
+    }
+
+    @Test
+    void listRepliesReturnsTheWholeThreadDepthFirst() {
+        CommentDto top = add(null);
+        CommentDto first = add(top.getId());
+        CommentDto second = add(top.getId());
+        CommentDto nested = add(first.getId());
+        CommentDto otherThread = add(null);
+        add(otherThread.getId());
+
+        assertThat(replyIds(top.getId(), 10)).containsExactly(first.getId(), nested.getId(), second.getId());
+    }
+
+    @Test
+    void listRepliesStopsBeforeTheNextSibling() {
+        CommentDto top = add(null);
+        // Consecutive ids: the sibling's path is exactly subtreeEnd(first's path), the exclusive upper bound.
+        CommentDto first = add(top.getId());
+        CommentDto sibling = add(top.getId());
+        CommentDto nested = add(first.getId());
+        add(sibling.getId());
+        assertThat(load(sibling.getId()).getPath()).isEqualTo(CommentPaths.subtreeEnd(load(first.getId()).getPath()));
+
+        assertThat(replyIds(first.getId(), 10)).containsExactly(nested.getId());
+    }
+
+    @Test
+    void listRepliesPagesWithThePathCursor() {
+        CommentDto top = add(null);
+        List<Long> expected = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            expected.add(add(top.getId()).getId());
+        }
+
+        assertThat(replyIds(top.getId(), 2)).containsExactlyElementsOf(expected);
+    }
+
+    @Test
+    void cursorsOutsideTheSubtreeAreRejected() {
+        CommentDto top = add(null);
+        CommentDto first = add(top.getId());
+        CommentDto sibling = add(top.getId());
+        String firstPath = load(first.getId()).getPath();
+        String siblingPath = load(sibling.getId()).getPath();
+
+        assertThatThrownBy(() -> commentService.listReplies(first.getId(), encode(firstPath), 10))
+                .isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> commentService.listReplies(first.getId(), encode(siblingPath), 10))
+                .isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> commentService.listReplies(first.getId(), encode("not-a-path"), 10))
+                .isInstanceOf(BadRequestException.class);
+    }
+
+    private List<Long> replyIds(Long commentId, int size) {
+        List<Long> ids = new ArrayList<>();
+        String cursor = null;
+        do {
+            CursorPageResponse<CommentDto> page = commentService.listReplies(commentId, cursor, size);
+            page.getContent().forEach(dto -> ids.add(dto.getId()));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+        return ids;
+    }
+
+    private CommentDto add(Long parentId) {
+        CommentCreateRequest request = new CommentCreateRequest();
+        request.setContent("comment");
+        request.setParentId(parentId);
+        CommentDto added = commentService.addComment(postId, request, writer);
+        em.flush();
+        em.clear();
+        return added;
+    }
+
+    private Comment load(Long id) {
+        return comments.findById(id).orElseThrow();
+    }
+
+    private static String encode(String path) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(path.getBytes(StandardCharsets.US_ASCII));
+    }
+}
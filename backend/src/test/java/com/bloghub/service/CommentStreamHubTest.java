@@ -0,0 +1,242 @@
+package com.bloghub.service;
+
+import com.bloghub.config.BloghubProperties;
+import com.bloghub.exception.ServiceUnavailableException;
+import com.bloghub.web.dto.comment.CommentDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Fan-out and eviction of {@link CommentStreamHub}, with emitters that record what they were sent instead of writing
+ * to a response.
+ */
+class CommentStreamHubTest {
+    private static final int BUFFER_SIZE = 4;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<RecordingEmitter> emitters = new CopyOnWriteArrayList<>();
+    private CommentStreamHub hub;
+
+    @AfterEach
+    void tearDown() {
+        emitters.forEach(RecordingEmitter::unblock);
+        if (hub != null) {
+            hub.destroy();
+        }
+    }
+
+    @Test
+    void publishReachesEverySubscriberOfThePostAndNoOneElse() {
+        hub = hub(10, Duration.ofSeconds(10));
+        RecordingEmitter first = subscribe(1L);
+        RecordingEmitter second = subscribe(1L);
+        RecordingEmitter otherPost = subscribe(2L);
+
+        hub.publishAdded(1L, comment(7L));
+        hub.publishDeleted(1L, 7L);
+
+        await(() -> first.events().size() == 3 && second.events().size() == 3);
+        assertThat(first.events()).containsExactly("subscribed", "comment-added", "comment-deleted");
+        assertThat(second.events()).containsExactly("subscribed", "comment-added", "comment-deleted");
+        await(() -> otherPost.events().size() == 1);
+        assertThat(otherPost.events()).containsExactly("subscribed");
+    }
+
+    @Test
+    void subscriberThatFallsBufferSizeBehindIsEvicted() {
+        hub = hub(10, Duration.ofSeconds(10));
+        RecordingEmitter slow = subscribe(1L);
+        RecordingEmitter fast = subscribe(1L);
+        await(() -> slow.events().size() == 1);
+        slow.block();
+        hub.publishAdded(1L, comment(0L));
+        await(slow::isSending);
+
+        // The stuck send has taken its event off the buffer: BUFFER_SIZE more fit, the next one does not. The fast
+        // subscriber keeps up with each one, so only the slow one can overflow.
+        for (long id = 1; id <= BUFFER_SIZE + 1; id++) {
+            hub.publishAdded(1L, comment(id));
+            int received = (int) id + 2;
+            await(() -> fast.events().size() == received);
+        }
+
+        assertThat(meterRegistry.counter("bloghub.comments.stream.evicted").count()).isEqualTo(1);
+        assertThat(subscribers()).isEqualTo(1);
+        // The blocked send still holds the emitter; it is completed once that send returns.
+        assertThat(slow.completed).isFalse();
+        slow.unblock();
+        await(() -> slow.completed);
+    }
+
+    @Test
+    void failedSendCompletesTheEmitterWithTheErrorAndRemovesTheSubscriber() {
+        hub = hub(10, Duration.ofSeconds(10));
+        RecordingEmitter broken = subscribe(1L);
+        await(() -> broken.events().size() == 1);
+        broken.failNextSend = true;
+
+        hub.publishAdded(1L, comment(1L));
+
+        await(() -> broken.failure != null);
+        assertThat(broken.failure).isInstanceOf(IOException.class);
+        assertThat(subscribers()).isZero();
+    }
+
+    @Test
+    void stalledSendIsDroppedAtTheNextHeartbeat() {
+        hub = hub(10, Duration.ofMillis(1));
+        RecordingEmitter stuck = subscribe(1L);
+        await(() -> stuck.events().size() == 1);
+        stuck.block();
+        hub.publishAdded(1L, comment(1L));
+        await(stuck::isSending);
+        sleep(5);
+
+        hub.heartbeat();
+
+        assertThat(meterRegistry.counter("bloghub.comments.stream.stalled").count()).isEqualTo(1);
+        assertThat(subscribers()).isZero();
+        stuck.unblock();
+        await(() -> stuck.completed);
+    }
+
+    @Test
+    void subscribersBeyondTheLimitAreTurnedAway() {
+        hub = hub(2, Duration.ofSeconds(10));
+        subscribe(1L);
+        subscribe(2L);
+
+        assertThatThrownBy(() -> hub.subscribe(3L)).isInstanceOf(ServiceUnavailableException.class);
+        assertThat(subscribers()).isEqualTo(2);
+    }
+
+    private CommentStreamHub hub(int maxSubscribers, Duration writeTimeout) {
+        BloghubProperties props = new BloghubProperties(null, null, null, null, null, new BloghubProperties.Comments(
+                null,
+                new BloghubProperties.Comments.Stream(
+                        maxSubscribers,
+                        BUFFER_SIZE,
+                        2,
+                        writeTimeout,
+                        Duration.ofSeconds(15),
+                        Duration.ofMinutes(30),
+                        Duration.ofSeconds(5)
+                )
+        ));
+        return new CommentStreamHub(props, new ObjectMapper(), meterRegistry) {
+            @Override
+            SseEmitter newEmitter(long timeoutMillis) {
+                RecordingEmitter emitter = new RecordingEmitter(timeoutMillis);
+                emitters.add(emitter);
+                return emitter;
+            }
+        };
+    }
+
+    private RecordingEmitter subscribe(Long postId) {
+        return (RecordingEmitter) hub.subscribe(postId);
+    }
+
+    private double subscribers() {
+        return meterRegistry.get("bloghub.comments.stream.subscribers").gauge().value();
+    }
+
+    private static CommentDto comment(Long id) {
+        CommentDto dto = new CommentDto();
+        dto.setId(id);
+        dto.setContent("comment " + id);
+        return dto;
+    }
+
+    private static void await(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("condition within 5s").isLessThan(deadline);
+            sleep(1);
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    /** Keeps the name (or comment) of each event; can hold a send open like a client that stopped reading. */
+    private static final class RecordingEmitter extends SseEmitter {
+        private final List<String> events = new CopyOnWriteArrayList<>();
+        private volatile CountDownLatch gate = new CountDownLatch(0);
+        private volatile boolean sending;
+        private volatile boolean failNextSend;
+        private volatile boolean completed;
+        private volatile Throwable failure;
+
+        RecordingEmitter(long timeoutMillis) {
+            super(timeoutMillis);
+        }
+
+        @Override
+        public void send(Set<DataWithMediaType> items) throws IOException {
+            sending = true;
+            try {
+                gate.await();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new IOException(ex);
+            } finally {
+                sending = false;
+            }
+            if (failNextSend) {
+                throw new IOException("Broken pipe");
+            }
+            String first = items.iterator().next().getData().toString();
+            events.add(first.startsWith("event:") ? first.substring(6, first.indexOf('\n')) : first.substring(1).trim());
+        }
+
+        @Override
+        public void complete() {
+            completed = true;
+        }
+
+        @Override
+        public void completeWithError(Throwable ex) {
+            failure = ex;
+        }
+
+        List<String> events() {
+            return events;
+        }
+
+        boolean isSending() {
+            return sending;
+        }
+
+        void block() {
+            gate = new CountDownLatch(1);
+        }
+
+        void unblock() {
+            gate.countDown();
+        }
+    }
+}
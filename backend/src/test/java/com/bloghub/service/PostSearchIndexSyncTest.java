@@ -0,0 +1,94 @@
+package com.bloghub.service;
+
+import com.bloghub.config.JpaAuditingConfig;
+import com.bloghub.domain.Category;
+import com.bloghub.domain.Post;
+import com.bloghub.domain.Role;
+import com.bloghub.domain.RoleName;
+import com.bloghub.domain.User;
+import com.bloghub.repository.PostRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Posts that never went through this instance's PostService (another instance, a direct database write) must become
+ * searchable at the next sync, not only after a restart.
+ */
+@DataJpaTest
+@Import(JpaAuditingConfig.class)
+class PostSearchIndexSyncTest {
+    @Autowired
+    private TestEntityManager em;
+
+    @Autowired
+    private PostRepository posts;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private PostSearchIndex index;
+    private User author;
+    private Category category;
+
+    @BeforeEach
+    void setUp() {
+        Role role = new Role();
+        role.setName(RoleName.ROLE_USER);
+        em.persist(role);
+        author = new User();
+        author.setEmail("author@example.com");
+        author.setPasswordHash("hash");
+        author.setDisplayName("Author");
+        author.setRole(role);
+        em.persist(author);
+        category = new Category();
+        category.setName("General");
+        category.setSlug("general");
+        em.persist(category);
+        em.persist(newPost("Existing post", "About giraffes"));
+        em.flush();
+
+        index = new PostSearchIndex(posts, transactionManager);
+        index.rebuild();
+    }
+
+    @Test
+    void syncIndexesPostsWrittenDirectlyToTheRepository() {
+        Post written = posts.saveAndFlush(newPost("Written elsewhere", "All about zebras"));
+        assertThat(index.search("zebras", null, 0, 10).ids()).isEmpty();
+
+        index.syncChanges();
+
+        assertThat(index.search("zebras", null, 0, 10).ids()).containsExactly(written.getId());
+        assertThat(index.search("giraffes", null, 0, 10).total()).isEqualTo(1);
+    }
+
+    @Test
+    void syncPicksUpEditsMadeElsewhere() {
+        Post post = posts.findAll().get(0);
+        post.setContent("Now about okapis");
+        posts.saveAndFlush(post);
+
+        index.syncChanges();
+
+        assertThat(index.search("okapis", null, 0, 10).ids()).containsExactly(post.getId());
+        assertThat(index.search("giraffes", null, 0, 10).ids()).isEmpty();
+    }
+
+    private Post newPost(String title, String content) {
+        Post post = new Post();
+        post.setTitle(title);
+        post.setContent(content);
+        post.setExcerpt(content);
+        post.setAuthor(author);
+        post.setCategory(category);
+        return post;
+    }
+}
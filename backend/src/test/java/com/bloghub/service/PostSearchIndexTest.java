@@ -0,0 +1,40 @@
+package com.bloghub.service;
+
+import com.bloghub.repository.PostRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class PostSearchIndexTest {
+    private PostSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new PostSearchIndex(mock(PostRepository.class), mock(PlatformTransactionManager.class));
+        Instant now = Instant.now();
+        for (long id = 1; id <= 5; id++) {
+            index.index(id, 1, "Zebra post " + id, "All about zebras", now);
+        }
+    }
+
+    @Test
+    void pagesThroughHits() {
+        assertThat(index.search("zebra", null, 0, 2).ids()).hasSize(2);
+        assertThat(index.search("zebra", null, 4, 2).ids()).hasSize(1);
+        assertThat(index.search("zebra", null, 4, 2).total()).isEqualTo(5);
+    }
+
+    @Test
+    void offsetPastTheLastHitGivesAnEmptyPage() {
+        // page=300000000, size=10: overflowed to a negative offset when computed as int.
+        PostSearchIndex.SearchHits hits = index.search("zebra", null, 300_000_000L * 10, 10);
+
+        assertThat(hits.ids()).isEmpty();
+        assertThat(hits.total()).isEqualTo(5);
+    }
+}
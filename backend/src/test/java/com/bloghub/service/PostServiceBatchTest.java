@@ -0,0 +1,159 @@
+package com.bloghub.service;
+
+import com.bloghub.config.JpaAuditingConfig;
+import com.bloghub.domain.Category;
+import com.bloghub.domain.Post;
+import com.bloghub.domain.Role;
+import com.bloghub.domain.RoleName;
+import com.bloghub.domain.User;
+import com.bloghub.repository.CategoryRepository;
+import com.bloghub.repository.PostRepository;
+import com.bloghub.repository.UserRepository;
+import com.bloghub.web.dto.post.CommentCountsResponse;
+import com.bloghub.web.dto.post.PostBatchResponse;
+import com.bloghub.web.dto.post.PostDto;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * {@code GET /posts?ids=} and {@code GET /posts/comment-counts?ids=}: results follow the request order, duplicates and
+ * nulls are dropped, unknown ids are reported, and a whole batch costs at most one statement.
+ */
+@DataJpaTest
+@Import(JpaAuditingConfig.class)
+class PostServiceBatchTest {
+    private static final long UNKNOWN_ID = 999_999L;
+
+    @Autowired
+    private TestEntityManager em;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PostRepository posts;
+
+    @Autowired
+    private CategoryRepository categories;
+
+    @Autowired
+    private UserRepository users;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private PostService postService;
+    private PostCache postCache;
+    private Statistics statistics;
+    private Long[] ids;
+
+    @BeforeEach
+    void setUp() {
+        postCache = mock(PostCache.class);
+        postService = new PostService(
+                posts,
+                categories,
+                users,
+                mock(PostSearchIndex.class),
+                postCache,
+                transactionManager
+        );
+
+        Role role = new Role();
+        role.setName(RoleName.ROLE_USER);
+        em.persist(role);
+        User author = new User();
+        author.setEmail("author@example.com");
+        author.setPasswordHash("hash");
+        author.setDisplayName("Author");
+        author.setRole(role);
+        em.persist(author);
+        Category category = new Category();
+        category.setName("General");
+        category.setSlug("general");
+        em.persist(category);
+        ids = new Long[3];
+        for (int i = 0; i < ids.length; i++) {
+            Post post = new Post();
+            post.setTitle("Post " + i);
+            post.setContent("Content " + i);
+            post.setExcerpt("Content " + i);
+            post.setAuthor(author);
+            post.setCategory(category);
+            post.setCommentsCount(10L * i);
+            ids[i] = em.persist(post).getId();
+        }
+        em.flush();
+        em.clear();
+        entityManagerFactory.getCache().evictAll();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+    }
+
+    @Test
+    void getManyFollowsRequestOrderAndReportsUnknownIds() {
+        PostBatchResponse response = postService.getMany(Arrays.asList(ids[2], UNKNOWN_ID, ids[0], ids[2], null));
+
+        assertThat(response.getPosts()).extracting(PostDto::getId).containsExactly(ids[2], ids[0]);
+        assertThat(response.getPosts()).allSatisfy(dto -> {
+            assertThat(dto.getAuthorName()).isEqualTo("Author");
+            assertThat(dto.getCategoryName()).isEqualTo("General");
+        });
+        assertThat(response.getMissingIds()).containsExactly(UNKNOWN_ID);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void getManyUsesCachedPostsAndReadsOnlyTheRest() {
+        PostDto cached = new PostDto();
+        cached.setId(ids[1]);
+        cached.setTitle("From the cache");
+        when(postCache.getIfPresent(ids[1])).thenReturn(new PostCache.Entry(cached, null));
+
+        PostBatchResponse response = postService.getMany(List.of(ids[0], ids[1], ids[2]));
+
+        assertThat(response.getPosts()).extracting(PostDto::getTitle)
+                .containsExactly("Post 0", "From the cache", "Post 2");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void getManyServedEntirelyFromTheCacheRunsNoStatement() {
+        PostDto cached = new PostDto();
+        cached.setId(ids[0]);
+        when(postCache.getIfPresent(ids[0])).thenReturn(new PostCache.Entry(cached, null));
+
+        PostBatchResponse response = postService.getMany(List.of(ids[0]));
+
+        assertThat(response.getPosts()).containsExactly(cached);
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+
+    @Test
+    void commentCountsComeFromTheCounterInOneStatement() {
+        CommentCountsResponse response = postService.getCommentCounts(
+                Arrays.asList(ids[2], ids[0], UNKNOWN_ID, ids[0], null));
+
+        assertThat(response.getCounts()).containsExactly(Map.entry(ids[2], 20L), Map.entry(ids[0], 0L));
+        assertThat(response.getMissingIds()).containsExactly(UNKNOWN_ID);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+}
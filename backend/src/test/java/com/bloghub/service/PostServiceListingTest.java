@@ -0,0 +1,133 @@
+package com.bloghub.service;
+
+import com.bloghub.config.JpaAuditingConfig;
+import com.bloghub.domain.Category;
+import com.bloghub.domain.Post;
+import com.bloghub.domain.Role;
+import com.bloghub.domain.RoleName;
+import com.bloghub.domain.User;
+import com.bloghub.repository.CategoryRepository;
+import com.bloghub.repository.PostRepository;
+import com.bloghub.repository.UserRepository;
+import com.bloghub.web.dto.PageResponse;
+import com.bloghub.web.dto.post.PostDto;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * A page of {@code GET /posts} must cost the same number of statements whatever its size: the fetch-joined listing
+ * query plus its count query. Lazy author/category loads or per-post comment counts would show up as extra ones.
+ */
+@DataJpaTest
+@Import(JpaAuditingConfig.class)
+class PostServiceListingTest {
+    private static final int POSTS = 60;
+
+    @Autowired
+    private TestEntityManager em;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PostRepository posts;
+
+    @Autowired
+    private CategoryRepository categories;
+
+    @Autowired
+    private UserRepository users;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private PostService postService;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        postService = new PostService(
+                posts,
+                categories,
+                users,
+                mock(PostSearchIndex.class),
+                mock(PostCache.class),
+                transactionManager
+        );
+
+        Role role = new Role();
+        role.setName(RoleName.ROLE_USER);
+        em.persist(role);
+        User[] authors = new User[3];
+        for (int i = 0; i < authors.length; i++) {
+            User author = new User();
+            author.setEmail("author" + i + "@example.com");
+            author.setPasswordHash("hash");
+            author.setDisplayName("Author " + i);
+            author.setRole(role);
+            authors[i] = em.persist(author);
+        }
+        Category[] cats = new Category[4];
+        for (int i = 0; i < cats.length; i++) {
+            Category category = new Category();
+            category.setName("Category " + i);
+            category.setSlug("category-" + i);
+            cats[i] = em.persist(category);
+        }
+        for (int i = 0; i < POSTS; i++) {
+            Post post = new Post();
+            post.setTitle("Post " + i);
+            post.setContent("Content " + i);
+            post.setExcerpt("Content " + i);
+            post.setAuthor(authors[i % authors.length]);
+            post.setCategory(cats[i % cats.length]);
+            post.setCommentsCount(i);
+            em.persist(post);
+        }
+        em.flush();
+        em.clear();
+        // Authors and categories would otherwise be served from the second-level cache and hide lazy loads.
+        entityManagerFactory.getCache().evictAll();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {5, 20, 50})
+    void listingCostsTwoStatementsRegardlessOfPageSize(int size) {
+        PageResponse<PostDto> page = postService.list(null, null, 0, size);
+
+        assertThat(page.getContent()).hasSize(size);
+        assertThat(page.getContent()).allSatisfy(dto -> {
+            assertThat(dto.getAuthorName()).startsWith("Author ");
+            assertThat(dto.getCategoryName()).startsWith("Category ");
+        });
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {5, 10})
+    void categoryFilteredListingCostsTwoStatements(int size) {
+        Long categoryId = categories.findAll().get(0).getId();
+        statistics.clear();
+
+        PageResponse<PostDto> page = postService.list(categoryId, null, 0, size);
+
+        assertThat(page.getContent()).hasSize(size);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+}
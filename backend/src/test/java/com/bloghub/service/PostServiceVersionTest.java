@@ -0,0 +1,99 @@
+package com.bloghub.service;
+
+import com.bloghub.config.JpaAuditingConfig;
+import com.bloghub.domain.Category;
+import com.bloghub.domain.Post;
+import com.bloghub.domain.Role;
+import com.bloghub.domain.RoleName;
+import com.bloghub.domain.User;
+import com.bloghub.repository.CategoryRepository;
+import com.bloghub.repository.PostRepository;
+import com.bloghub.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * The post ETag has to change whenever the body of {@code GET /posts/{id}} does, including the embedded category name.
+ */
+@DataJpaTest
+@Import(JpaAuditingConfig.class)
+class PostServiceVersionTest {
+    @Autowired
+    private TestEntityManager em;
+
+    @Autowired
+    private PostRepository posts;
+
+    @Autowired
+    private CategoryRepository categories;
+
+    @Autowired
+    private UserRepository users;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private PostService postService;
+    private Category category;
+    private Long postId;
+
+    @BeforeEach
+    void setUp() {
+        postService = new PostService(
+                posts,
+                categories,
+                users,
+                mock(PostSearchIndex.class),
+                mock(PostCache.class),
+                transactionManager
+        );
+
+        Role role = new Role();
+        role.setName(RoleName.ROLE_USER);
+        em.persist(role);
+        User author = new User();
+        author.setEmail("author@example.com");
+        author.setPasswordHash("hash");
+        author.setDisplayName("Author");
+        author.setRole(role);
+        em.persist(author);
+        category = new Category();
+        category.setName("General");
+        category.setSlug("general");
+        em.persist(category);
+        Post post = new Post();
+        post.setTitle("Post");
+        post.setContent("Content");
+        post.setExcerpt("Content");
+        post.setAuthor(author);
+        post.setCategory(category);
+        postId = em.persist(post).getId();
+        em.flush();
+    }
+
+    @Test
+    void renamingTheCategoryChangesThePostTag() {
+        ResourceVersion before = postService.getVersion(postId);
+
+        category.setName("Renamed");
+        category.setSlug("renamed");
+        em.flush();
+        ResourceVersion after = postService.getVersion(postId);
+
+        assertThat(after.etag()).isNotEqualTo(before.etag());
+        assertThat(after.lastModified()).isAfter(before.lastModified());
+    }
+
+    @Test
+    void tagIsStableWhileNothingChanges() {
+        assertThat(postService.getVersion(postId)).isEqualTo(postService.getVersion(postId));
+    }
+}
@@ -0,0 +1,22 @@
+package com.bloghub.util;
+
+import java.text.Normalizer;
+
+/** The regex-based {@link SlugUtils#toSlug} it replaced, kept as the reference for tests and benchmarks. */
+final class RegexSlug {
+    private RegexSlug() {}
+
+    static String toSlug(String input) {
+        if (input == null) {
+            return null;
+        }
+        String slug = Normalizer.normalize(input, Normalizer.Form.NFD)
+                .replaceAll("\\p{InCombiningDiacriticalMarks}+", "")
+                .toLowerCase()
+                .replaceAll("[^a-z0-9\\s-]", "")
+                .replaceAll("\\s+", "-")
+                .replaceAll("-{2,}", "-")
+                .replaceAll("^-|-$", "");
+        return slug.isBlank() ? null : slug;
+    }
+}
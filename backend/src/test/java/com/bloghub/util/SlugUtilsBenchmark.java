@@ -0,0 +1,53 @@
+package com.bloghub.util;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single-pass {@link SlugUtils#toSlug} against the regex version it replaced. Add {@code -prof gc} for the allocation
+ * per call ({@code gc.alloc.rate.norm}):
+ * {@code mvn -Pjmh test-compile exec:exec -Djmh.args="SlugUtilsBenchmark -prof gc"}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SlugUtilsBenchmark {
+    @Param({"ascii", "accented", "long"})
+    public String input;
+
+    private String title;
+
+    @Setup
+    public void setUp() {
+        title = switch (input) {
+            case "ascii" -> "Ten Things I Learned Running Postgres in Production";
+            case "accented" -> "Crème brûlée à la française : les secrets d'un dessert réussi";
+            case "long" -> "Ten Things I Learned Running Postgres in Production, Part 2 -- ".repeat(40);
+            default -> throw new IllegalArgumentException(input);
+        };
+    }
+
+    @Benchmark
+    public String singlePass() {
+        return SlugUtils.toSlug(title);
+    }
+
+    @Benchmark
+    public String regex() {
+        return RegexSlug.toSlug(title);
+    }
+}
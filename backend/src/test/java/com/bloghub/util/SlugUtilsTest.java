@@ -0,0 +1,76 @@
+package com.bloghub.util;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.util.Locale;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * {@link SlugUtils#toSlug} must produce the same slugs as the regex version it replaced, except that it no longer
+ * lower-cases with the default locale.
+ */
+class SlugUtilsTest {
+    // ASCII letters, digits, separators and punctuation, accented Latin, Turkish dotted/dotless i, the Kelvin sign
+    // (NFD maps it to K), Greek, CJK, a lone combining mark and an emoji (surrogate pair).
+    private static final String[] ALPHABET = {
+            "a", "Z", "m", "Q", "0", "7", " ", "  ", "\t", "\n", "\u000B", "\f", "\r", "-", "--", "_", ".", "!", "/",
+            "é", "È", "ü", "Ñ", "Å", "ç", "ø", "ß", "İ", "ı", "K", "Σ", "ω", "漢", "́", "😀"
+    };
+
+    private Locale defaultLocale;
+
+    @BeforeEach
+    void rememberLocale() {
+        defaultLocale = Locale.getDefault();
+    }
+
+    @AfterEach
+    void restoreLocale() {
+        Locale.setDefault(defaultLocale);
+    }
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = {
+            "Hello World|hello-world",
+            "'  Crème Brûlée -- recipe!  '|creme-brulee-recipe",
+            "Ünïcödé\ttabs and  spaces|unicode-tabs-and-spaces",
+            "2024: Year in review|2024-year-in-review",
+            "---|",
+            "漢字|"
+    })
+    void examples(String input, String expected) {
+        assertThat(SlugUtils.toSlug(input)).isEqualTo(expected);
+    }
+
+    @Test
+    void matchesRegexVersionOnRandomInput() {
+        Locale.setDefault(Locale.ROOT);
+        Random random = new Random(20240917L);
+        for (int run = 0; run < 20_000; run++) {
+            StringBuilder input = new StringBuilder();
+            int parts = random.nextInt(24);
+            for (int i = 0; i < parts; i++) {
+                input.append(ALPHABET[random.nextInt(ALPHABET.length)]);
+            }
+            String text = input.toString();
+            assertThat(SlugUtils.toSlug(text)).as("slug of \"%s\"", text).isEqualTo(RegexSlug.toSlug(text));
+        }
+    }
+
+    @Test
+    void ignoresDefaultLocale() {
+        Locale.setDefault(Locale.ROOT);
+        String root = SlugUtils.toSlug("TITLE IN CAPITALS");
+
+        // Turkish lower-cases I to dotless ı, which the regex version then dropped as non-ASCII.
+        Locale.setDefault(Locale.forLanguageTag("tr-TR"));
+        assertThat(RegexSlug.toSlug("TITLE IN CAPITALS")).isEqualTo("ttle-n-captals");
+        assertThat(SlugUtils.toSlug("TITLE IN CAPITALS")).isEqualTo(root).isEqualTo("title-in-capitals");
+    }
+}
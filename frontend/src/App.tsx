@@ -10,6 +10,7 @@ type ApiResponse<T> = {
 type AuthResponse = {
   accessToken: string
   tokenType: string
+  refreshToken: string
 }
 
 type UserDto = {
@@ -35,6 +36,65 @@ type PageResponse<T> = {
 }
 
 const API_BASE_URL = 'http://localhost:8080/api/v1'
+const TOKEN_KEY = 'bloghub_token'
+const REFRESH_TOKEN_KEY = 'bloghub_refresh_token'
+
+// Refresh tokens are single use (presenting a spent one revokes the whole login), so concurrent 401s share one call.
+let pendingRefresh: Promise<string | null> | null = null
+
+const storeTokens = (auth: AuthResponse) => {
+  window.localStorage.setItem(TOKEN_KEY, auth.accessToken)
+  window.localStorage.setItem(REFRESH_TOKEN_KEY, auth.refreshToken)
+}
+
+const clearTokens = () => {
+  window.localStorage.removeItem(TOKEN_KEY)
+  window.localStorage.removeItem(REFRESH_TOKEN_KEY)
+}
+
+const refreshAccessToken = (): Promise<string | null> => {
+  if (!pendingRefresh) {
+    pendingRefresh = (async () => {
+      const refreshToken = window.localStorage.getItem(REFRESH_TOKEN_KEY)
+      if (!refreshToken) {
+        return null
+      }
+      const res = await fetch(`${API_BASE_URL}/auth/refresh`, {
+        method: 'POST',
+        headers: {
+          'Content-Type': 'application/json',
+        },
+        body: JSON.stringify({ refreshToken }),
+      })
+      if (!res.ok) {
+        clearTokens()
+        return null
+      }
+      const body = (await res.json()) as ApiResponse<AuthResponse>
+      storeTokens(body.data)
+      return body.data.accessToken
+    })().finally(() => {
+      pendingRefresh = null
+    })
+  }
+  return pendingRefresh
+}
+
+// Access tokens are short lived: on a 401, renew through /auth/refresh and retry the request once.
+// The current token is read from storage, so a renewal is picked up by every later request.
+const fetchWithAuth = async (url: string, init: RequestInit = {}) => {
+  const send = (bearer: string | null) => {
+    const headers = new Headers(init.headers)
+    headers.set('Authorization', `Bearer ${bearer}`)
+    return fetch(url, { ...init, headers })
+  }
+  const res = await send(window.localStorage.getItem(TOKEN_KEY))
+  if (res.status !== 401) {
+    return res
+  }
+  const renewed = await refreshAccessToken()
+  return renewed ? send(renewed) : res
+}
 
 function App() {
   const [token, setToken] = useState<string | null>(null)
@@ -46,7 +106,7 @@ function App() {
   const [error, setError] = useState<string | null>(null)
 
   useEffect(() => {
-    const stored = window.localStorage.getItem('bloghub_token')
+    const stored = window.localStorage.getItem(TOKEN_KEY)
     if (stored) {
       setToken(stored)
     }
@@ -54,7 +114,7 @@ function App() {
 
   useEffect(() => {
     if (token) {
-      fetchMe(token)
+      fetchMe()
       fetchPosts()
     }
   }, [token])
@@ -78,9 +138,8 @@ function App() {
       }
 
       const body = (await res.json()) as ApiResponse<AuthResponse>
-      const accessToken = body.data.accessToken
-      setToken(accessToken)
-      window.localStorage.setItem('bloghub_token', accessToken)
+      storeTokens(body.data)
+      setToken(body.data.accessToken)
     } catch (err) {
       if (err instanceof Error) {
         setError(err.message)
@@ -92,13 +151,14 @@ function App() {
     }
   }
 
-  const fetchMe = async (jwt: string) => {
+  const fetchMe = async () => {
     try {
-      const res = await fetch(`${API_BASE_URL}/auth/me`, {
-        headers: {
-          Authorization: `Bearer ${jwt}`,
-        },
-      })
+      const res = await fetchWithAuth(`${API_BASE_URL}/auth/me`)
+      if (res.status === 401) {
+        // The refresh token is gone or spent too: the user has to sign in again.
+        handleLogout()
+        return
+      }
       if (!res.ok) {
         throw new Error('Failed to load current user')
       }
@@ -133,7 +193,7 @@ function App() {
   const handleLogout = () => {
     setToken(null)
     setCurrentUser(null)
-    window.localStorage.removeItem('bloghub_token')
+    clearTokens()
   }
 
   return (